@@ -1,28 +1,34 @@
 package com.zerooneblog.blog.config;
 
 import java.io.IOException;
-import java.util.Optional;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.zerooneblog.blog.model.User;
-import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.TokenRevocationTable;
 import com.zerooneblog.blog.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Authenticates requests from the access token alone: the token is parsed once, its signature and
+ * expiry checked, and the ban flag and token version compared against {@link TokenRevocationTable}
+ * by the user id claim. No SQL runs here.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final TokenRevocationTable tokenRevocationTable;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationTable tokenRevocationTable) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.tokenRevocationTable = tokenRevocationTable;
     }
 
     @Override
@@ -31,36 +37,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractJwtFromRequest(request);
 
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String email = jwtUtil.getEmailFromToken(token);
-            Long tokenVersion = jwtUtil.getTokenVersion(token);
-            
-            // Check if user exists, is not banned, and token version matches
-            Optional<User> userOpt = userRepository.findByEmail(email);
-            
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                
-                // Check if user is banned
-                if (user.isBanned()) {
+        if (token != null) {
+            Claims claims = null;
+            try {
+                claims = jwtUtil.getClaims(token);
+                // Long-lived tokens from before access tokens were shortened, and tokens without the
+                // user id claim, cannot be checked in memory; make the client refresh them
+                if (jwtUtil.getUserId(claims) == null || claims.getIssuedAt() == null || claims.getExpiration() == null
+                        || claims.getExpiration().getTime() - claims.getIssuedAt().getTime()
+                        > jwtUtil.getAccessTtlSeconds() * 1000) {
+                    throw new ExpiredJwtException(null, claims, "Token lifetime exceeds the access token TTL");
+                }
+            } catch (ExpiredJwtException e) {
+                // The client should refresh and retry
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"Access token expired\",\"code\":\"TOKEN_EXPIRED\"}");
+                return;
+            } catch (JwtException | IllegalArgumentException e) {
+                // Malformed or badly signed: carry on unauthenticated
+            }
+
+            if (claims != null) {
+                long userId = jwtUtil.getUserId(claims);
+
+                if (tokenRevocationTable.isBanned(userId)) {
                     response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                     response.setContentType("application/json");
                     response.getWriter().write("{\"error\":\"Your account has been banned\",\"code\":\"ACCOUNT_BANNED\"}");
                     return;
                 }
-                
-                // Check token version - if user's token version is higher, token is invalidated
-                Long userTokenVersion = user.getTokenVersion() != null ? user.getTokenVersion() : 0L;
-                if (tokenVersion < userTokenVersion) {
+
+                // Token version bumped since the token was issued: it has been revoked
+                if (jwtUtil.getTokenVersion(claims) < tokenRevocationTable.minTokenVersion(userId)) {
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.setContentType("application/json");
                     response.getWriter().write("{\"error\":\"Session expired. Please log in again.\",\"code\":\"TOKEN_INVALIDATED\"}");
                     return;
                 }
-                
-                var auth = jwtUtil.getAuthentication(token);
-                System.out.println("[JWT Filter] Token valid, username from token: '" + auth.getName() + "' (length: " + (auth.getName() != null ? auth.getName().length() : "null") + ")");
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                SecurityContextHolder.getContext().setAuthentication(jwtUtil.getAuthentication(claims));
             }
         }
 
@@ -0,0 +1,51 @@
+package com.zerooneblog.blog.config;
+
+import java.util.logging.Logger;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure {@code post_likes} has its (post_id, user_id) unique key on databases created before it
+ * existed. Schema update cannot add the key while duplicate likes are present, so duplicates (left
+ * by the old check-then-insert toggle) are removed first, keeping the oldest like. Once the key
+ * exists duplicates cannot come back, so later starts skip the cleanup and its scan of the table.
+ */
+@Component
+public class LikeConstraintInitializer implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(LikeConstraintInitializer.class.getName());
+    private static final String UNIQUE_KEY = "uk_post_likes_post_user";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LikeConstraintInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (uniqueKeyExists()) return;
+        int removed = jdbcTemplate.update("delete from post_likes where exists (select 1 from post_likes d "
+                + "where d.post_id = post_likes.post_id and d.user_id = post_likes.user_id and d.id < post_likes.id)");
+        if (removed > 0) {
+            logger.info("[LikeConstraintInitializer] Removed " + removed + " duplicate likes");
+        }
+        jdbcTemplate.execute("create unique index if not exists " + UNIQUE_KEY + " on post_likes (post_id, user_id)");
+        logger.info("[LikeConstraintInitializer] Created unique index " + UNIQUE_KEY);
+    }
+
+    private boolean uniqueKeyExists() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (product != null && product.contains("PostgreSQL")) {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, UNIQUE_KEY));
+        }
+        // Elsewhere (H2 in tests) schema update adds the key as a named constraint
+        Long found = jdbcTemplate.queryForObject("select count(*) from information_schema.table_constraints "
+                + "where lower(constraint_name) = ?", Long.class, UNIQUE_KEY);
+        return found != null && found > 0;
+    }
+}
@@ -6,11 +6,13 @@ import org.springframework.context.annotation.Configuration;
 import com.zerooneblog.blog.mapper.EntityMapper;
 import com.zerooneblog.blog.repository.CommentRepository;
 import com.zerooneblog.blog.repository.LikeRepository;
+import com.zerooneblog.blog.service.LikeWriteBehindBuffer;
 
 @Configuration
 public class MapperConfig {
     @Bean
-    public EntityMapper entityMapper(CommentRepository commentRepository, LikeRepository likeRepository) {
-        return new EntityMapper(commentRepository, likeRepository);
+    public EntityMapper entityMapper(CommentRepository commentRepository, LikeRepository likeRepository,
+                                     LikeWriteBehindBuffer likeWriteBehindBuffer) {
+        return new EntityMapper(commentRepository, likeRepository, likeWriteBehindBuffer);
     }
 }
@@ -0,0 +1,164 @@
+package com.zerooneblog.blog.config;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional monthly range partitioning of {@code notifications} on PostgreSQL
+ * ({@code blog.notifications.partitioning.enabled=true}), so history older than
+ * {@code blog.notifications.partition-retention-days} is dropped a month at a time instead of
+ * deleted row by row. Dropping a partition removes unread notifications too, so this retention
+ * should be well above the read-notification retention of {@code NotificationRetentionService}.
+ *
+ * The first start with partitioning enabled converts the table in one transaction: the existing
+ * table is renamed to {@code notifications_legacy} and attached as the default partition of a new
+ * partitioned {@code notifications} (primary key (id, created_at), same indexes and foreign keys).
+ * From then on partitions {@code notifications_pYYYYMM} are created ahead of time. Rows already in
+ * the default partition for the current month keep it from being split, so monthly partitions start
+ * with the first month that has no rows there; the legacy partition empties through the row purge.
+ * Attaching the legacy table builds its (id, created_at) key index, so the conversion holds the
+ * table lock for one pass over the existing rows.
+ *
+ * Hibernate's schema update does not see the indexes and foreign keys of a partitioned table and
+ * logs a failed {@code create index} for each on startup; the existing ones are kept.
+ */
+@Component
+public class NotificationPartitionManager implements ApplicationRunner {
+    private static final Logger logger = Logger.getLogger(NotificationPartitionManager.class.getName());
+    private static final String TABLE = "notifications";
+    private static final String LEGACY = "notifications_legacy";
+    private static final String PARTITION_PREFIX = "notifications_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // Partitions kept ready beyond the current month
+    private static final int MONTHS_AHEAD = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final long retentionDays;
+
+    public NotificationPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        @Value("${blog.notifications.partitioning.enabled:false}") boolean enabled,
+                                        @Value("${blog.notifications.partition-retention-days:365}") long retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (product == null || !product.contains("PostgreSQL")) {
+            logger.warning("[NotificationPartitionManager] run() - Partitioning needs PostgreSQL, not " + product + "; skipped");
+            return;
+        }
+        if (!isPartitioned()) {
+            tx.executeWithoutResult(s -> convert());
+            logger.info("[NotificationPartitionManager] run() - Converted " + TABLE + " to a partitioned table");
+        }
+        maintain();
+    }
+
+    /** Creates upcoming monthly partitions and drops those past the retention period. */
+    @Scheduled(cron = "${blog.notifications.partition-cron:0 45 3 * * *}")
+    public void maintain() {
+        if (!enabled || !isPartitioned()) return;
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        LocalDate dropBefore = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        List<String> partitions = jdbcTemplate.queryForList("select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                + "where i.inhparent = '" + TABLE + "'::regclass", String.class);
+        for (String name : partitions) {
+            if (!name.matches(PARTITION_PREFIX + "\\d{6}")) continue;
+            YearMonth month = YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.plusMonths(1).atDay(1).isAfter(dropBefore)) {
+                jdbcTemplate.execute("drop table " + name);
+                logger.info("[NotificationPartitionManager] maintain() - Dropped partition " + name);
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+        if (jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, name)) return;
+        try {
+            jdbcTemplate.execute("create table " + name + " partition of " + TABLE + " for values from ('"
+                    + month.atDay(1) + " 00:00:00+00') to ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+            logger.info("[NotificationPartitionManager] createPartition() - Created partition " + name);
+        } catch (DataAccessException e) {
+            // The default partition already holds rows of this month; they stay there
+            logger.fine("[NotificationPartitionManager] createPartition() - Not creating " + name + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kind = jdbcTemplate.queryForList("select c.relkind::text from pg_class c join pg_namespace ns on ns.oid = c.relnamespace "
+                + "where c.relname = ? and ns.nspname = current_schema()", String.class, TABLE);
+        return !kind.isEmpty() && "p".equals(kind.get(0));
+    }
+
+    private void convert() {
+        jdbcTemplate.execute("lock table " + TABLE + " in access exclusive mode");
+        String pk = jdbcTemplate.queryForObject("select conname from pg_constraint where conrelid = '" + TABLE + "'::regclass and contype = 'p'", String.class);
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList("select indexname, indexdef from pg_indexes "
+                + "where schemaname = current_schema() and tablename = ? and indexname <> ?", TABLE, pk);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList("select conname, pg_get_constraintdef(oid) as def "
+                + "from pg_constraint where conrelid = '" + TABLE + "'::regclass and contype = 'f'");
+
+        // Index and primary-key names are schema-wide: move the old ones out of the way
+        jdbcTemplate.execute("alter table " + TABLE + " rename to " + LEGACY);
+        // A partition cannot keep a primary key of its own; attaching it builds the (id, created_at) one
+        jdbcTemplate.execute("alter table " + LEGACY + " drop constraint " + pk);
+        for (Map<String, Object> index : indexes) {
+            String name = (String) index.get("indexname");
+            jdbcTemplate.execute("alter index " + name + " rename to " + legacyName(name));
+        }
+        jdbcTemplate.execute("alter table " + LEGACY + " alter column id drop identity if exists");
+        jdbcTemplate.update("update " + LEGACY + " set created_at = now() where created_at is null");
+        jdbcTemplate.execute("alter table " + LEGACY + " alter column created_at set not null");
+
+        // Ids come from Hibernate's notifications_seq, so the new table needs no id default
+        jdbcTemplate.execute("create table " + TABLE + " (like " + LEGACY + " including defaults including constraints) "
+                + "partition by range (created_at)");
+        jdbcTemplate.execute("alter table " + TABLE + " add constraint " + TABLE + "_pkey primary key (id, created_at)");
+        for (Map<String, Object> fk : foreignKeys) {
+            jdbcTemplate.execute("alter table " + TABLE + " add constraint " + fk.get("conname") + " " + fk.get("def"));
+        }
+        for (Map<String, Object> index : indexes) {
+            String def = (String) index.get("indexdef");
+            if (def.startsWith("CREATE UNIQUE")) {
+                // Unique keys on a partitioned table must contain the partition key
+                logger.warning("[NotificationPartitionManager] convert() - Not recreating unique index " + index.get("indexname"));
+                continue;
+            }
+            jdbcTemplate.execute(def);
+        }
+        jdbcTemplate.execute("alter table " + TABLE + " attach partition " + LEGACY + " default");
+    }
+
+    private static String legacyName(String name) {
+        String suffix = "_legacy";
+        return (name.length() + suffix.length() > 63 ? name.substring(0, 63 - suffix.length()) : name) + suffix;
+    }
+}
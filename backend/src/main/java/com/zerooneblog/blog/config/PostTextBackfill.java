@@ -0,0 +1,38 @@
+package com.zerooneblog.blog.config;
+
+import java.util.logging.Logger;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.blog.service.PostService;
+
+/**
+ * Derives the excerpt, word count and reading time of posts written before these were stored.
+ * New and edited posts get them in PostService, so after the first run this finds nothing to do.
+ */
+@Component
+public class PostTextBackfill implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(PostTextBackfill.class.getName());
+    private static final int BATCH_SIZE = 500;
+
+    private final PostService postService;
+
+    public PostTextBackfill(PostService postService) {
+        this.postService = postService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long filled = 0;
+        int batch;
+        while ((batch = postService.backfillTextStats(BATCH_SIZE)) > 0) {
+            filled += batch;
+        }
+        if (filled > 0) {
+            logger.info("[PostTextBackfill] run() - Derived excerpts for " + filled + " existing posts");
+        }
+    }
+}
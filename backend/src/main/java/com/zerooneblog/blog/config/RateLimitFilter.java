@@ -0,0 +1,85 @@
+package com.zerooneblog.blog.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies {@link RateLimiter} to the write and auth endpoints. Runs after the JWT filter so signed-in
+ * callers are limited per account; auth endpoints and anonymous callers are limited per client IP.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record Rule(HttpMethod method, String pattern, RateLimiter.Group group) {}
+
+    private static final List<Rule> RULES = List.of(
+            new Rule(HttpMethod.POST, "/api/v1/auth/login", RateLimiter.Group.AUTH),
+            new Rule(HttpMethod.POST, "/api/v1/auth/register", RateLimiter.Group.AUTH),
+            new Rule(HttpMethod.POST, "/api/v1/auth/refresh", RateLimiter.Group.AUTH),
+            new Rule(HttpMethod.POST, "/api/v1/posts/*/like", RateLimiter.Group.LIKE),
+            new Rule(HttpMethod.DELETE, "/api/v1/posts/*/like", RateLimiter.Group.LIKE),
+            new Rule(HttpMethod.POST, "/api/v1/posts/*/comments", RateLimiter.Group.COMMENT),
+            new Rule(HttpMethod.POST, "/api/v1/posts/*/report", RateLimiter.Group.REPORT),
+            new Rule(HttpMethod.POST, "/api/v1/users/*/report", RateLimiter.Group.REPORT),
+            new Rule(HttpMethod.POST, "/api/v1/posts", RateLimiter.Group.POST),
+            new Rule(HttpMethod.PUT, "/api/v1/posts/*", RateLimiter.Group.POST),
+            new Rule(HttpMethod.POST, "/api/v1/uploads", RateLimiter.Group.UPLOAD));
+
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RateLimiter.Group group = groupOf(request);
+        if (group != null) {
+            long waitMillis = rateLimiter.tryAcquire(group, clientKey(request, group));
+            if (waitMillis > 0) {
+                response.setStatus(429);
+                response.setHeader("Retry-After", String.valueOf((waitMillis + 999) / 1000));
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"Too many requests. Please slow down.\",\"code\":\"RATE_LIMITED\"}");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter.Group groupOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : RULES) {
+            if (rule.method().matches(method) && matcher.match(rule.pattern(), path)) {
+                return rule.group();
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimiter.Group group) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (group != RateLimiter.Group.AUTH && auth != null && auth.isAuthenticated()
+                && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        // Behind a reverse proxy, set server.forward-headers-strategy so this is the real client address
+        return "ip:" + request.getRemoteAddr();
+    }
+}
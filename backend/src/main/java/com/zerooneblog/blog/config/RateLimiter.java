@@ -0,0 +1,130 @@
+package com.zerooneblog.blog.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets for write and auth endpoints, one per (group, client) pair.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the generic cell rate algorithm, equivalent to a token bucket that refills continuously).
+ * Taking a token is one CAS, refill is computed lazily from the clock, and buckets live in a
+ * {@link ConcurrentHashMap}, whose bins are locked independently, so there is no global lock.
+ *
+ * A bucket whose refill time has passed is full, and dropping it is indistinguishable from keeping
+ * it, so {@link #evictIdle()} removes those. Live buckets are bounded by the number of clients seen
+ * within one refill window; past {@code blog.rate-limit.max-buckets} an eviction pass runs inline.
+ *
+ * Limits per group are {@code blog.rate-limit.<group>.capacity} (burst size) and
+ * {@code blog.rate-limit.<group>.per-minute} (refill rate), e.g. {@code blog.rate-limit.auth.capacity=10}.
+ */
+@Component
+public class RateLimiter {
+    private static final Logger logger = Logger.getLogger(RateLimiter.class.getName());
+
+    public enum Group {
+        AUTH(10, 10),
+        POST(5, 10),
+        COMMENT(10, 30),
+        LIKE(30, 120),
+        REPORT(5, 10),
+        UPLOAD(10, 20);
+
+        final int defaultCapacity;
+        final int defaultPerMinute;
+
+        Group(int defaultCapacity, int defaultPerMinute) {
+            this.defaultCapacity = defaultCapacity;
+            this.defaultPerMinute = defaultPerMinute;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    private record Limit(long intervalNanos, long burstNanos) {}
+
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final boolean enabled;
+    private final int maxBuckets;
+
+    public RateLimiter(Environment env,
+                       @Value("${blog.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${blog.rate-limit.max-buckets:1000000}") int maxBuckets) {
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        for (Group group : Group.values()) {
+            int capacity = env.getProperty("blog.rate-limit." + group.key() + ".capacity", Integer.class, group.defaultCapacity);
+            int perMinute = env.getProperty("blog.rate-limit." + group.key() + ".per-minute", Integer.class, group.defaultPerMinute);
+            if (capacity < 1 || perMinute < 1) {
+                throw new IllegalArgumentException("Rate limit for " + group.key() + " must be at least 1 request");
+            }
+            long interval = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            limits.put(group, new Limit(interval, interval * capacity));
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of {@code client} in {@code group}.
+     *
+     * @return 0 if the request may proceed, otherwise how many milliseconds until a token is available
+     */
+    public long tryAcquire(Group group, String client) {
+        if (!enabled) return 0;
+        Limit limit = limits.get(group);
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(group.key() + ':' + client);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) evictIdleInline();
+            bucket = buckets.computeIfAbsent(group.key() + ':' + client, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + limit.intervalNanos();
+            long debt = next - now;
+            if (debt > limit.burstNanos()) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(debt - limit.burstNanos()));
+            }
+            if (bucket.compareAndSet(fullAt, next)) return 0;
+        }
+    }
+
+    /** Drops buckets that have refilled completely. */
+    @Scheduled(fixedDelayString = "${blog.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        int dropped = before - buckets.size();
+        if (dropped > 0) {
+            logger.fine("[RateLimiter] evictIdle() - Dropped " + dropped + " idle buckets, " + buckets.size() + " live");
+        }
+    }
+
+    private void evictIdleInline() {
+        // Only one request thread pays for the sweep; the others carry on
+        if (evicting.compareAndSet(false, true)) {
+            try {
+                evictIdle();
+                if (buckets.size() >= maxBuckets) {
+                    logger.warning("[RateLimiter] tryAcquire() - " + buckets.size() + " live buckets, above blog.rate-limit.max-buckets");
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.zerooneblog.blog.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.zerooneblog.blog.util.AfterCommit;
+
+/**
+ * Sends connections for read-only transactions of web requests to the replica and everything else
+ * to the primary. It has to sit behind a {@code LazyConnectionDataSourceProxy}: the transaction's
+ * read-only flag is only set after the transaction manager asks for a connection, so the real
+ * connection must be fetched at the first statement.
+ *
+ * Replicas lag behind. After a user's read-write transaction commits, that user's read-only
+ * transactions stay on the primary for {@code stickySeconds} so they see their own writes. Work
+ * outside a request (event listeners, scheduled jobs) always uses the primary: it usually follows
+ * up on a write that just committed, such as the search index re-reading an edited post, and has
+ * no user to make sticky. Until the application accepts traffic everything goes to the primary, so
+ * startup work (schema update, initializers, the in-memory indexes rebuilt on ApplicationReadyEvent)
+ * reads current data.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+    private static final Logger logger = Logger.getLogger(ReadWriteRoutingDataSource.class.getName());
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final long stickyMillis;
+    // User name -> time until which their reads stay on the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, long stickySeconds) {
+        this.stickyMillis = stickySeconds * 1000;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || ready) return;
+        ready = true;
+        logger.info("[ReadWriteRoutingDataSource] onApplicationEvent() - Routing read-only transactions to the replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                AfterCommit.run(() -> markSticky(user));
+            }
+            return Route.PRIMARY;
+        }
+        if (!ready || RequestContextHolder.getRequestAttributes() == null) return Route.PRIMARY;
+        if (user != null && isSticky(user)) return Route.PRIMARY;
+        return Route.REPLICA;
+    }
+
+    private void markSticky(String user) {
+        long now = System.currentTimeMillis();
+        stickyUntil.put(user, now + stickyMillis);
+        if (stickyUntil.size() > 10_000) {
+            stickyUntil.values().removeIf(until -> until < now);
+        }
+    }
+
+    private boolean isSticky(String user) {
+        Long until = stickyUntil.get(user);
+        if (until == null) return false;
+        if (until >= System.currentTimeMillis()) return true;
+        stickyUntil.remove(user, until);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken || !auth.isAuthenticated()) return null;
+        return auth.getName();
+    }
+}
@@ -0,0 +1,74 @@
+package com.zerooneblog.blog.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read replica support, on when {@code blog.datasource.replica.url} is set. The primary pool is
+ * still configured through {@code spring.datasource.*}; the replica takes its credentials from there
+ * too unless {@code blog.datasource.replica.username}/{@code password} are given, and pool settings
+ * from {@code blog.datasource.replica.hikari.*}. See {@link ReadWriteRoutingDataSource} for routing.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${blog.datasource.replica.url}") String url,
+                                              @Value("${blog.datasource.replica.username:}") String username,
+                                              @Value("${blog.datasource.replica.password:}") String password) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("replica");
+        ds.setJdbcUrl(url);
+        ds.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+        ds.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") DataSource replica,
+                                                        @Value("${blog.datasource.replica.sticky-seconds:5}") long stickySeconds) {
+        return new ReadWriteRoutingDataSource(primary, replica, stickySeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Hibernate otherwise holds on to a session's first connection until the session closes, and with
+    // open-in-view that is the end of the request: a read-only transaction followed by a write in the
+    // same request would write to the replica
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,41 @@
+package com.zerooneblog.blog.config;
+
+import java.util.logging.Logger;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.service.PostSearchService;
+
+/**
+ * Builds the post search index on startup when it is empty but posts already exist
+ * (first deployment of search, or a wiped index directory).
+ */
+@Component
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(SearchIndexInitializer.class.getName());
+
+    private final PostSearchService postSearchService;
+    private final PostRepository postRepository;
+
+    public SearchIndexInitializer(PostSearchService postSearchService, PostRepository postRepository) {
+        this.postSearchService = postSearchService;
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (postSearchService.indexedCount() > 0) {
+            logger.info("[SearchIndexInitializer] Search index already populated. Skipping bootstrap.");
+            return;
+        }
+        if (postRepository.count() == 0) {
+            return;
+        }
+        logger.info("[SearchIndexInitializer] Search index is empty. Indexing existing posts...");
+        postSearchService.reindexAll();
+    }
+}
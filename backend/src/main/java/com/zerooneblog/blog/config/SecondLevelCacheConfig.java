@@ -0,0 +1,64 @@
+package com.zerooneblog.blog.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Caffeine-backed regions for the Hibernate second-level cache (enabled in application.yaml).
+ * {@code User} and {@code Post} are cached read-write, so changes made through the entities
+ * (profile edits, bans, hiding) update the cache when they commit; JPQL bulk updates such as the
+ * follower counters evict the whole region. {@code users-by-email} resolves the email natural id
+ * behind {@code UserRepository.findByEmail}.
+ *
+ * Sizes and TTLs: {@code blog.cache.users.max-size}/{@code ttl-seconds} (also used for the email
+ * region) and {@code blog.cache.posts.max-size}/{@code ttl-seconds}. The TTL bounds how long an
+ * entry loaded from a lagging read replica can stay stale. Hit, miss and put counts per region are
+ * published by Hibernate's statistics as {@code hibernate.second.level.cache.*} and
+ * {@code hibernate.cache.natural.id.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    private static final String USERS = "users";
+    private static final String USERS_BY_EMAIL = "users-by-email";
+    private static final String POSTS = "posts";
+
+    // Each application context gets its own manager: the provider's default one is shared by the whole JVM
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${blog.cache.users.max-size:10000}") long usersMaxSize,
+                                              @Value("${blog.cache.users.ttl-seconds:600}") long usersTtlSeconds,
+                                              @Value("${blog.cache.posts.max-size:10000}") long postsMaxSize,
+                                              @Value("${blog.cache.posts.ttl-seconds:300}") long postsTtlSeconds) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        cacheManager.createCache(USERS, region(usersMaxSize, usersTtlSeconds));
+        cacheManager.createCache(USERS_BY_EMAIL, region(usersMaxSize, usersTtlSeconds));
+        cacheManager.createCache(POSTS, region(postsMaxSize, postsTtlSeconds));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return props -> props.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return config;
+    }
+}
@@ -1,5 +1,6 @@
 package com.zerooneblog.blog.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,7 +12,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.TokenRevocationTable;
 import com.zerooneblog.blog.util.JwtUtil;
 
 @Configuration
@@ -20,11 +21,13 @@ import com.zerooneblog.blog.util.JwtUtil;
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final TokenRevocationTable tokenRevocationTable;
+    private final RateLimiter rateLimiter;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserRepository userRepository) {
+    public SecurityConfig(JwtUtil jwtUtil, TokenRevocationTable tokenRevocationTable, RateLimiter rateLimiter) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.tokenRevocationTable = tokenRevocationTable;
+        this.rateLimiter = rateLimiter;
     }
 
     @Bean
@@ -36,13 +39,17 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/posts/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/users/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/search/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/uploads/**").permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 // Admin endpoints require ADMIN role
                 .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userRepository), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, tokenRevocationTable), UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -52,8 +59,9 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // Raising the strength takes effect for existing users on their next login (see PasswordHashingService)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${blog.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
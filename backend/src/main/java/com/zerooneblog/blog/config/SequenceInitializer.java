@@ -0,0 +1,59 @@
+package com.zerooneblog.blog.config;
+
+import java.lang.reflect.Field;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+
+/**
+ * Moves every entity id sequence past the ids already in its table. Ids used to come from identity
+ * columns, and schema update creates the new sequences starting at 1, which would collide with
+ * existing rows on the first insert. Runs before the application runners so nothing inserts first.
+ *
+ * Checking a table that has rows takes one value from its sequence, so each restart skips a block
+ * of ids there.
+ */
+@Component
+public class SequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = Logger.getLogger(SequenceInitializer.class.getName());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            for (Field field : type.getDeclaredFields()) {
+                SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+                if (generator != null && table != null) {
+                    catchUp(table.name(), generator.sequenceName());
+                }
+            }
+        }
+    }
+
+    private void catchUp(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) return;
+        Long next = jdbcTemplate.queryForObject("select nextval('" + sequence + "')", Long.class);
+        if (next != null && next <= maxId) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+            logger.info("[SequenceInitializer] catchUp() - Restarted " + sequence + " at " + (maxId + 1));
+        }
+    }
+}
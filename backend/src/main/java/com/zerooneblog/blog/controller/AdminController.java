@@ -1,10 +1,12 @@
 package com.zerooneblog.blog.controller;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
@@ -14,15 +16,21 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zerooneblog.blog.dto.response.JobStatusDto;
 import com.zerooneblog.blog.dto.response.PostDto;
 import com.zerooneblog.blog.dto.response.ReportDto;
+import com.zerooneblog.blog.dto.response.ReportGroupDto;
+import com.zerooneblog.blog.dto.response.StatsPointDto;
 import com.zerooneblog.blog.dto.response.UserDto;
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
 import com.zerooneblog.blog.exception.BadRequestException;
 import com.zerooneblog.blog.exception.NotFoundException;
 import com.zerooneblog.blog.mapper.EntityMapper;
@@ -31,11 +39,16 @@ import com.zerooneblog.blog.model.Report;
 import com.zerooneblog.blog.model.User;
 import com.zerooneblog.blog.repository.CommentRepository;
 import com.zerooneblog.blog.repository.LikeRepository;
-import com.zerooneblog.blog.repository.NotificationRepository;
 import com.zerooneblog.blog.repository.PostRepository;
 import com.zerooneblog.blog.repository.ReportRepository;
-import com.zerooneblog.blog.repository.SubscriptionRepository;
 import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.AdminStatsService;
+import com.zerooneblog.blog.service.AuthTokenService;
+import com.zerooneblog.blog.service.ModerationQueueService;
+import com.zerooneblog.blog.service.PostSearchService;
+import com.zerooneblog.blog.service.TokenRevocationTable;
+import com.zerooneblog.blog.service.UserDeletionService;
+import com.zerooneblog.blog.service.UserEnrichmentService;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -49,8 +62,14 @@ public class AdminController {
     private final ReportRepository reportRepository;
     private final CommentRepository commentRepository;
     private final LikeRepository likeRepository;
-    private final NotificationRepository notificationRepository;
-    private final SubscriptionRepository subscriptionRepository;
+    private final PostSearchService postSearchService;
+    private final AdminStatsService adminStatsService;
+    private final UserEnrichmentService userEnrichmentService;
+    private final UserDeletionService userDeletionService;
+    private final ModerationQueueService moderationQueueService;
+    private final AuthTokenService authTokenService;
+    private final TokenRevocationTable tokenRevocationTable;
+    private final DomainEventBus eventBus;
 
     public AdminController(
             UserRepository userRepository,
@@ -58,15 +77,27 @@ public class AdminController {
             ReportRepository reportRepository,
             CommentRepository commentRepository,
             LikeRepository likeRepository,
-            NotificationRepository notificationRepository,
-            SubscriptionRepository subscriptionRepository) {
+            PostSearchService postSearchService,
+            AdminStatsService adminStatsService,
+            UserEnrichmentService userEnrichmentService,
+            UserDeletionService userDeletionService,
+            ModerationQueueService moderationQueueService,
+            AuthTokenService authTokenService,
+            TokenRevocationTable tokenRevocationTable,
+            DomainEventBus eventBus) {
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.reportRepository = reportRepository;
         this.commentRepository = commentRepository;
         this.likeRepository = likeRepository;
-        this.notificationRepository = notificationRepository;
-        this.subscriptionRepository = subscriptionRepository;
+        this.postSearchService = postSearchService;
+        this.adminStatsService = adminStatsService;
+        this.userEnrichmentService = userEnrichmentService;
+        this.userDeletionService = userDeletionService;
+        this.moderationQueueService = moderationQueueService;
+        this.authTokenService = authTokenService;
+        this.tokenRevocationTable = tokenRevocationTable;
+        this.eventBus = eventBus;
     }
 
     // ==================== USER MANAGEMENT ====================
@@ -75,15 +106,15 @@ public class AdminController {
     public Page<UserDto> getUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        return userRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")))
-                .map(EntityMapper::toDto);
+        Page<User> users = userRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        return new PageImpl<>(userEnrichmentService.toDtos(users.getContent(), null), users.getPageable(), users.getTotalElements());
     }
 
     @GetMapping("/users/{id}")
     public UserDto getUser(@PathVariable Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        return EntityMapper.toDto(user);
+        return userEnrichmentService.toDto(user, null);
     }
 
     @PutMapping("/users/{id}/ban")
@@ -102,10 +133,14 @@ public class AdminController {
             throw new BadRequestException("You cannot ban yourself");
         }
         
+        boolean wasBanned = user.isBanned();
         user.setBanned(true);
         // Increment token version to invalidate all existing tokens
         user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0L) + 1);
         userRepository.save(user);
+        authTokenService.revokeAll(user);
+        adminStatsService.banChanged(wasBanned, true);
+        eventBus.publish(new DomainEvent.UserBanned(user.getId()));
         
         // Audit log
         logger.info("[AUDIT] User banned: id=" + user.getId() + ", username=" + user.getUsername() + 
@@ -121,8 +156,12 @@ public class AdminController {
         
         String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
         
+        boolean wasBanned = user.isBanned();
         user.setBanned(false);
         userRepository.save(user);
+        tokenRevocationTable.update(user);
+        adminStatsService.banChanged(wasBanned, false);
+        eventBus.publish(new DomainEvent.UserUnbanned(user.getId()));
         
         // Audit log
         logger.info("[AUDIT] User unbanned: id=" + user.getId() + ", username=" + user.getUsername() + 
@@ -147,42 +186,25 @@ public class AdminController {
             throw new BadRequestException("You cannot delete yourself");
         }
         
-        // Store user info for audit log before deletion
-        Long userId = user.getId();
-        String username = user.getUsername();
-        String userEmail = user.getEmail();
-        
-        // Delete all related data
-        // 1. Delete notifications where user is receiver
-        notificationRepository.deleteByReceiver(user);
-        
-        // 2. Delete subscriptions (both directions - using userId)
-        subscriptionRepository.deleteBySubscriberId(user.getId());
-        subscriptionRepository.deleteByUserId(user.getId());
-        
-        // 3. Delete reports (both as reporter and target)
-        reportRepository.deleteByReporter(user);
-        reportRepository.deleteByTargetUser(user);
-        
-        // 4. Delete likes on user's posts and by user
-        likeRepository.deleteByUser(user);
-        
-        // 5. Delete comments on user's posts and by user
-        commentRepository.deleteByUser(user);
-        
-        // 6. Delete user's posts (cascade will handle likes/comments due to JPA cascade)
-        for (Post post : postRepository.findByAuthor(user)) {
-            postRepository.delete(post);
-        }
-        
-        // 7. Finally delete the user
-        userRepository.delete(user);
+        // Ban first so the user is locked out (and their tokens revoked) while the cascade runs
+        boolean wasBanned = user.isBanned();
+        user.setBanned(true);
+        user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0L) + 1);
+        userRepository.save(user);
+        authTokenService.revokeAll(user);
+        adminStatsService.banChanged(wasBanned, true);
+        eventBus.publish(new DomainEvent.UserBanned(user.getId()));
         
-        // Audit log
-        logger.info("[AUDIT] User deleted: id=" + userId + ", username=" + username + 
-                   ", email=" + userEmail + ", deletedBy=" + currentEmail + ", at=" + Instant.now());
+        String jobId = userDeletionService.submit(user.getId(), currentEmail);
+        logger.info("[AUDIT] User deletion requested: id=" + user.getId() + ", username=" + user.getUsername() + 
+                   ", email=" + user.getEmail() + ", requestedBy=" + currentEmail + ", job=" + jobId + ", at=" + Instant.now());
         
-        return ResponseEntity.ok(Map.of("message", "User and all related data deleted successfully"));
+        return ResponseEntity.accepted().body(Map.of("message", "User deletion started", "jobId", jobId));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public JobStatusDto getJob(@PathVariable String id) {
+        return userDeletionService.status(id);
     }
 
     @PutMapping("/users/{id}/role")
@@ -198,7 +220,10 @@ public class AdminController {
         }
         
         user.setRole(newRole);
+        // The role is carried in access tokens, so existing sessions have to end
+        user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0L) + 1);
         userRepository.save(user);
+        authTokenService.revokeAll(user);
         
         return ResponseEntity.ok(Map.of("message", "User role updated", "role", newRole));
     }
@@ -209,7 +234,7 @@ public class AdminController {
     public Page<PostDto> getPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        return postRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")))
+        return postRepository.findAllCards(PageRequest.of(page, size))
                 .map(EntityMapper::toDto);
     }
 
@@ -224,8 +249,11 @@ public class AdminController {
     public ResponseEntity<Map<String, Object>> hidePost(@PathVariable Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Post not found"));
+        boolean wasHidden = post.isHidden();
         post.setHidden(true);
         postRepository.save(post);
+        adminStatsService.hiddenChanged(wasHidden, true);
+        eventBus.publish(new DomainEvent.PostEdited(post.getId()));
         return ResponseEntity.ok(Map.of("message", "Post hidden successfully", "hidden", true));
     }
 
@@ -233,8 +261,11 @@ public class AdminController {
     public ResponseEntity<Map<String, Object>> unhidePost(@PathVariable Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Post not found"));
+        boolean wasHidden = post.isHidden();
         post.setHidden(false);
         postRepository.save(post);
+        adminStatsService.hiddenChanged(wasHidden, false);
+        eventBus.publish(new DomainEvent.PostEdited(post.getId()));
         return ResponseEntity.ok(Map.of("message", "Post unhidden successfully", "hidden", false));
     }
 
@@ -247,10 +278,18 @@ public class AdminController {
         likeRepository.deleteByPost(post);
         commentRepository.deleteByPost(post);
         postRepository.delete(post);
+        adminStatsService.postDeleted(post.isHidden());
+        eventBus.publish(new DomainEvent.PostDeleted(id));
         
         return ResponseEntity.ok(Map.of("message", "Post deleted successfully"));
     }
 
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Map<String, Object>> reindexSearch() throws java.io.IOException {
+        long indexed = postSearchService.reindexAll();
+        return ResponseEntity.ok(Map.of("message", "Search index rebuilt", "indexed", indexed));
+    }
+
     // ==================== REPORT MANAGEMENT ====================
 
     @GetMapping("/reports")
@@ -266,6 +305,29 @@ public class AdminController {
         return reportRepository.findAll(pageRequest).map(EntityMapper::toDto);
     }
 
+    @GetMapping("/reports/queue")
+    public Page<ReportGroupDto> getReportQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "PENDING") String status) {
+        return moderationQueueService.queue(status, PageRequest.of(page, size));
+    }
+
+    @PutMapping("/reports/queue/status")
+    public ResponseEntity<Map<String, Object>> updateReportGroupStatus(@RequestBody Map<String, String> payload) {
+        Long postId = payload.get("targetPostId") != null ? Long.valueOf(payload.get("targetPostId")) : null;
+        Long userId = payload.get("targetUserId") != null ? Long.valueOf(payload.get("targetUserId")) : null;
+        String from = payload.getOrDefault("fromStatus", "PENDING");
+        String to = payload.getOrDefault("status", "RESOLVED");
+        int updated = moderationQueueService.updateGroupStatus(postId, userId, from, to);
+        
+        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("[AUDIT] Report group updated: targetPostId=" + postId + ", targetUserId=" + userId + 
+                   ", " + from + " -> " + to + ", reports=" + updated + ", by=" + currentEmail + ", at=" + Instant.now());
+        
+        return ResponseEntity.ok(Map.of("message", "Reports updated", "updated", updated, "status", to));
+    }
+
     @GetMapping("/reports/{id}")
     public ReportDto getReport(@PathVariable Long id) {
         Report report = reportRepository.findById(id)
@@ -286,8 +348,10 @@ public class AdminController {
             if (!status.equals("PENDING") && !status.equals("REVIEWED") && !status.equals("RESOLVED")) {
                 throw new IllegalArgumentException("Invalid status. Must be PENDING, REVIEWED, or RESOLVED");
             }
+            String oldStatus = report.getStatus();
             report.setStatus(status);
             reportRepository.save(report);
+            adminStatsService.reportStatusChanged(oldStatus, status);
         }
         
         return EntityMapper.toDto(report);
@@ -298,6 +362,7 @@ public class AdminController {
         Report report = reportRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Report not found"));
         reportRepository.delete(report);
+        adminStatsService.reportDeleted(report.getStatus());
         return ResponseEntity.ok(Map.of("message", "Report deleted successfully"));
     }
 
@@ -318,14 +383,20 @@ public class AdminController {
         
         String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
         
+        boolean wasBanned = targetUser.isBanned();
         targetUser.setBanned(true);
         // Increment token version to invalidate all existing tokens
         targetUser.setTokenVersion((targetUser.getTokenVersion() != null ? targetUser.getTokenVersion() : 0L) + 1);
         userRepository.save(targetUser);
+        authTokenService.revokeAll(targetUser);
+        adminStatsService.banChanged(wasBanned, true);
+        eventBus.publish(new DomainEvent.UserBanned(targetUser.getId()));
         
         // Mark report as resolved
+        String oldStatus = report.getStatus();
         report.setStatus("RESOLVED");
         reportRepository.save(report);
+        adminStatsService.reportStatusChanged(oldStatus, "RESOLVED");
         
         // Audit log
         logger.info("[AUDIT] User banned via report: id=" + targetUser.getId() + ", username=" + targetUser.getUsername() + 
@@ -342,18 +413,11 @@ public class AdminController {
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStats() {
-        long totalUsers = userRepository.count();
-        long totalPosts = postRepository.count();
-        long pendingReports = reportRepository.countByStatus("PENDING");
-        long bannedUsers = userRepository.countByBanned(true);
-        long hiddenPosts = postRepository.countByHidden(true);
-        
-        return ResponseEntity.ok(Map.of(
-            "totalUsers", totalUsers,
-            "totalPosts", totalPosts,
-            "pendingReports", pendingReports,
-            "bannedUsers", bannedUsers,
-            "hiddenPosts", hiddenPosts
-        ));
+        return ResponseEntity.ok(adminStatsService.snapshot());
+    }
+
+    @GetMapping("/stats/history")
+    public List<StatsPointDto> getStatsHistory(@RequestParam(defaultValue = "60") int minutes) {
+        return adminStatsService.history(minutes);
     }
 }
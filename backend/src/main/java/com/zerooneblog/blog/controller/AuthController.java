@@ -2,10 +2,6 @@ package com.zerooneblog.blog.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,12 +9,16 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.zerooneblog.blog.dto.request.LoginRequest;
+import com.zerooneblog.blog.dto.request.RefreshTokenRequest;
 import com.zerooneblog.blog.dto.request.RegisterRequest;
 import com.zerooneblog.blog.dto.response.AuthResponse;
 import com.zerooneblog.blog.model.User;
 import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.AdminStatsService;
+import com.zerooneblog.blog.service.AuthTokenService;
+import com.zerooneblog.blog.service.PasswordHashingService;
+import com.zerooneblog.blog.service.UsernameIndex;
 import com.zerooneblog.blog.util.HtmlSanitizer;
-import com.zerooneblog.blog.util.JwtUtil;
 
 import jakarta.validation.Valid;
 
@@ -27,19 +27,21 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthTokenService authTokenService;
     private final HtmlSanitizer htmlSanitizer;
+    private final UsernameIndex usernameIndex;
+    private final AdminStatsService adminStatsService;
 
-    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                          AuthenticationManager authenticationManager, JwtUtil jwtUtil,
-                          HtmlSanitizer htmlSanitizer) {
+    public AuthController(UserRepository userRepository, PasswordHashingService passwordHashingService, AuthTokenService authTokenService,
+                          HtmlSanitizer htmlSanitizer, UsernameIndex usernameIndex,
+                          AdminStatsService adminStatsService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
-        this.jwtUtil = jwtUtil;
+        this.passwordHashingService = passwordHashingService;
+        this.authTokenService = authTokenService;
         this.htmlSanitizer = htmlSanitizer;
+        this.usernameIndex = usernameIndex;
+        this.adminStatsService = adminStatsService;
     }
 
     @PostMapping("/register")
@@ -54,16 +56,16 @@ public class AuthController {
 
         User user = new User();
         user.setUsername(htmlSanitizer.sanitizePlainText(body.getUsername()));
-        user.setPassword(passwordEncoder.encode(body.getPassword()));
+        user.setPassword(passwordHashingService.encode(body.getPassword()));
         user.setEmail(body.getEmail());
         user.setTokenVersion(0L);
         // Default role is USER (set in entity)
 
         userRepository.save(user);
+        usernameIndex.put(user);
+        adminStatsService.userRegistered();
 
-        // Generate token with email, role, and token version
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getTokenVersion());
-        return ResponseEntity.ok(new AuthResponse(token, com.zerooneblog.blog.mapper.EntityMapper.toDto(user)));
+        return ResponseEntity.ok(authTokenService.issue(user));
     }
 
     @PostMapping("/login")
@@ -86,15 +88,22 @@ public class AuthController {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Your account has been banned");
         }
         
-        try {
-            // Authenticate using the actual username from database
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), body.getPassword()));
-        } catch (BadCredentialsException ex) {
+        // Verified on the hashing pool; upgrades the stored hash if the BCrypt cost was raised
+        if (!passwordHashingService.verifyAndUpgrade(user, body.getPassword())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
-        // Generate token with email, role, and token version
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getTokenVersion());
-        return ResponseEntity.ok(new AuthResponse(token, com.zerooneblog.blog.mapper.EntityMapper.toDto(user)));
+        return ResponseEntity.ok(authTokenService.issue(user));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest body) {
+        return ResponseEntity.ok(authTokenService.refresh(body.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest body) {
+        authTokenService.logout(body.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
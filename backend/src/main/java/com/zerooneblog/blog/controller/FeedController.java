@@ -18,18 +18,23 @@ public class FeedController {
     private final PostService postService;
     private final UserRepository userRepository;
     private final com.zerooneblog.blog.service.UserService userService;
+    private final com.zerooneblog.blog.service.CommentService commentService;
 
-    public FeedController(PostService postService, UserRepository userRepository, com.zerooneblog.blog.service.UserService userService) {
+    public FeedController(PostService postService, UserRepository userRepository, com.zerooneblog.blog.service.UserService userService,
+                          com.zerooneblog.blog.service.CommentService commentService) {
         this.postService = postService;
         this.userRepository = userRepository;
         this.userService = userService;
+        this.commentService = commentService;
     }
 
     @GetMapping
-    public org.springframework.http.ResponseEntity<?> feed(Authentication auth, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+    public org.springframework.http.ResponseEntity<?> feed(Authentication auth, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size,
+                                                           @RequestParam(defaultValue = "0") int includeComments) {
         if (auth == null || auth.getName() == null) throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED);
         User u = userRepository.findByEmail(auth.getName()).orElseThrow();
-        var result = postService.feedFor(u, PageRequest.of(page, size)).map(p -> com.zerooneblog.blog.mapper.EntityMapper.toDto(p, u));
+        var result = postService.feedFor(u, PageRequest.of(page, size)).map(c -> com.zerooneblog.blog.mapper.EntityMapper.toDto(c, u));
+        commentService.attachLatestComments(result.getContent(), includeComments);
         if (result.getTotalElements() == 0) {
             return org.springframework.http.ResponseEntity.ok(java.util.Map.of(
                 "message", "No posts found",
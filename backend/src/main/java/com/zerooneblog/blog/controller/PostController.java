@@ -23,7 +23,9 @@ import com.zerooneblog.blog.model.Post;
 import com.zerooneblog.blog.model.User;
 import com.zerooneblog.blog.repository.PostRepository;
 import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.CommentService;
 import com.zerooneblog.blog.service.PostService;
+import com.zerooneblog.blog.service.TrendingService;
 
 @RestController
 @RequestMapping("/api/v1/posts")
@@ -32,11 +34,16 @@ public class PostController {
     private final PostService postService;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final TrendingService trendingService;
+    private final CommentService commentService;
 
-    public PostController(PostService postService, UserRepository userRepository, PostRepository postRepository) {
+    public PostController(PostService postService, UserRepository userRepository, PostRepository postRepository,
+                          TrendingService trendingService, CommentService commentService) {
         this.postService = postService;
         this.userRepository = userRepository;
         this.postRepository = postRepository;
+        this.trendingService = trendingService;
+        this.commentService = commentService;
     }
 
     private User currentUser(Authentication auth) {
@@ -124,6 +131,15 @@ public class PostController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/trending")
+    public java.util.List<PostDto> trending(@RequestParam(defaultValue = "20") int size,
+                                            @RequestParam(defaultValue = "0") int includeComments, Authentication auth) {
+        User u = (auth == null) ? null : currentUser(auth);
+        java.util.List<PostDto> result = trendingService.trending(size).stream().map(c -> EntityMapper.toDto(c, u)).toList();
+        commentService.attachLatestComments(result, includeComments);
+        return result;
+    }
+
     @GetMapping("/{id}")
     public PostDto get(@PathVariable Long id, Authentication auth) { 
         User u = (auth == null) ? null : currentUser(auth);
@@ -131,8 +147,11 @@ public class PostController {
     }
 
     @GetMapping
-    public Page<PostDto> list(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size, Authentication auth) {
+    public Page<PostDto> list(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size,
+                              @RequestParam(defaultValue = "0") int includeComments, Authentication auth) {
         User u = (auth == null) ? null : currentUser(auth);
-        return postRepository.findAllByHiddenFalseOrderByCreatedAtDesc(PageRequest.of(page, size)).map(p -> EntityMapper.toDto(p, u));
+        Page<PostDto> result = postRepository.findCardsByHiddenFalse(PageRequest.of(page, size)).map(c -> EntityMapper.toDto(c, u));
+        commentService.attachLatestComments(result.getContent(), includeComments);
+        return result;
     }
 }
@@ -0,0 +1,65 @@
+package com.zerooneblog.blog.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.zerooneblog.blog.dto.response.CursorPageDto;
+import com.zerooneblog.blog.dto.response.PostDto;
+import com.zerooneblog.blog.mapper.EntityMapper;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.CommentService;
+import com.zerooneblog.blog.service.PostSearchService;
+
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+    private static final Logger logger = Logger.getLogger(SearchController.class.getName());
+    private final PostSearchService postSearchService;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final CommentService commentService;
+
+    public SearchController(PostSearchService postSearchService, PostRepository postRepository, UserRepository userRepository,
+                            CommentService commentService) {
+        this.postSearchService = postSearchService;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.commentService = commentService;
+    }
+
+    @GetMapping("/posts")
+    public CursorPageDto<PostDto> searchPosts(@RequestParam String q,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @RequestParam(defaultValue = "0") int includeComments,
+                                              Authentication auth) {
+        logger.info("[SearchController] GET /search/posts - q: " + q + ", size: " + size);
+        User u = (auth == null || auth.getName() == null) ? null : userRepository.findByEmail(auth.getName()).orElse(null);
+
+        PostSearchService.Hits hits = postSearchService.search(q, cursor, size);
+
+        // Load the page of posts in one query and keep the relevance order from the index
+        Map<Long, Post> byId = postRepository.findAllById(hits.postIds()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostDto> content = hits.postIds().stream()
+                .map(byId::get)
+                .filter(p -> p != null && !p.isHidden())
+                .map(p -> EntityMapper.toDto(p, u))
+                .toList();
+        commentService.attachLatestComments(content, includeComments);
+
+        return new CursorPageDto<>(content, hits.nextCursor(), hits.totalHits());
+    }
+}
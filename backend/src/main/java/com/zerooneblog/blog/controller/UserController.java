@@ -3,6 +3,7 @@ package com.zerooneblog.blog.controller;
 import java.util.logging.Logger;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -17,8 +18,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.zerooneblog.blog.dto.request.UpdateUserRequest;
 import com.zerooneblog.blog.dto.response.UserDto;
-import com.zerooneblog.blog.mapper.EntityMapper;
+import com.zerooneblog.blog.dto.response.UserSuggestionDto;
 import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.service.CommentService;
+import com.zerooneblog.blog.service.UserEnrichmentService;
 import com.zerooneblog.blog.service.UserService;
 
 import jakarta.validation.Valid;
@@ -28,9 +31,24 @@ import jakarta.validation.Valid;
 public class UserController {
     private static final Logger logger = Logger.getLogger(UserController.class.getName());
     private final UserService userService;
+    private final UserEnrichmentService userEnrichmentService;
+    private final CommentService commentService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserEnrichmentService userEnrichmentService, CommentService commentService) {
         this.userService = userService;
+        this.userEnrichmentService = userEnrichmentService;
+        this.commentService = commentService;
+    }
+
+    // The authenticated user, or null for anonymous requests
+    private User viewer(Authentication auth) {
+        if (auth == null || auth.getName() == null) return null;
+        try {
+            return userService.findByEmail(auth.getName());
+        } catch (Exception e) {
+            logger.warning("[UserController] Could not get current user: " + e.getMessage());
+            return null;
+        }
     }
 
     @GetMapping("/{id}")
@@ -39,36 +57,7 @@ public class UserController {
         try {
             User u = userService.findById(id);
             logger.info("[UserController] User found: " + u.getUsername());
-            
-            UserDto dto = EntityMapper.toDto(u);
-            dto.setSubscriberIds(new java.util.HashSet<>());
-            dto.setSubscriptionIds(new java.util.HashSet<>());
-            
-            // Set subscriber count (followers)
-            long subscriberCount = userService.getSubscriberCount(id);
-            dto.setSubscribersCount(subscriberCount);
-            
-            // Set subscriptions count (following) - count how many users this user is subscribed to
-            long subscriptionsCount = userService.getSubscriptionsCount(id);
-            dto.setSubscriptionsCount(subscriptionsCount);
-            
-            // Check if current user is subscribed
-            if (auth != null && auth.getName() != null) {
-                try {
-                    User currentUser = userService.findByEmail(auth.getName());
-                    boolean isSubscribed = userService.isSubscribed(id, currentUser.getId());
-                    logger.info("[UserController] isSubscribed check: userId=" + id + ", subscriberId=" + currentUser.getId() + ", result=" + isSubscribed);
-                    dto.setSubscribed(isSubscribed);
-                } catch (Exception e) {
-                    logger.warning("[UserController] Could not check subscription status: " + e.getMessage());
-                    dto.setSubscribed(false);
-                }
-            } else {
-                dto.setSubscribed(false);
-                logger.info("[UserController] No authentication, setting isSubscribed=false for userId=" + id);
-            }
-            
-            return dto;
+            return userEnrichmentService.toDto(u, viewer(auth));
         } catch (Exception e) {
             logger.severe("[UserController] Error fetching user " + id + ": " + e.getMessage());
             throw e;
@@ -113,34 +102,10 @@ public class UserController {
             Authentication auth) {
         logger.info("[UserController] GET /users - Listing users - page: " + page + ", size: " + size + ", search: " + search);
         try {
-            User currentUser = null;
-            if (auth != null && auth.getName() != null) {
-                try {
-                    currentUser = userService.findByEmail(auth.getName());
-                } catch (Exception e) {
-                    logger.warning("[UserController] Could not get current user: " + e.getMessage());
-                }
-            }
-            
-            final User finalCurrentUser = currentUser;
-            Page<UserDto> result = userService.listAll(PageRequest.of(page, size), search).map(user -> {
-                UserDto dto = EntityMapper.toDto(user);
-                dto.setSubscriberIds(new java.util.HashSet<>());
-                dto.setSubscriptionIds(new java.util.HashSet<>());
-                
-                // Set subscriber and subscription counts
-                dto.setSubscribersCount(userService.getSubscriberCount(user.getId()));
-                dto.setSubscriptionsCount(userService.getSubscriptionsCount(user.getId()));
-                
-                if (finalCurrentUser != null) {
-                    boolean isSubscribed = userService.isSubscribed(user.getId(), finalCurrentUser.getId());
-                    logger.info("[UserController] listUsers - userId=" + user.getId() + ", subscriberId=" + finalCurrentUser.getId() + ", isSubscribed=" + isSubscribed);
-                    dto.setSubscribed(isSubscribed);
-                } else {
-                    dto.setSubscribed(false);
-                }
-                return dto;
-            });
+            Page<User> users = userService.listAll(PageRequest.of(page, size), search);
+            // Counts and subscription flags for the whole page come from a few grouped queries
+            Page<UserDto> result = new PageImpl<>(userEnrichmentService.toDtos(users.getContent(), viewer(auth)),
+                    users.getPageable(), users.getTotalElements());
             logger.info("[UserController] Users listed successfully - Total: " + result.getTotalElements() + ", Current page: " + result.getContent().size());
             return result;
         } catch (Exception e) {
@@ -149,22 +114,29 @@ public class UserController {
         }
     }
 
+    @GetMapping("/suggest")
+    public java.util.List<UserSuggestionDto> suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return userService.suggest(prefix, limit);
+    }
+
     @GetMapping("/{authorId}/posts")
     public org.springframework.http.ResponseEntity<?> listUserPosts(@PathVariable Long authorId, Authentication auth,
-                                               @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+                                               @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(defaultValue = "0") int includeComments) {
         // Public endpoint - anyone can view a user's posts
-        var result = userService.listPostsByAuthor(authorId, PageRequest.of(page, size)).map(p -> {
+        var result = userService.listPostsByAuthor(authorId, PageRequest.of(page, size)).map(c -> {
             // Include like status if user is authenticated
             if (auth != null && auth.getName() != null) {
                 try {
                     User currentUser = userService.findByEmail(auth.getName());
-                    return com.zerooneblog.blog.mapper.EntityMapper.toDto(p, currentUser);
+                    return com.zerooneblog.blog.mapper.EntityMapper.toDto(c, currentUser);
                 } catch (Exception e) {
-                    return com.zerooneblog.blog.mapper.EntityMapper.toDto(p);
+                    return com.zerooneblog.blog.mapper.EntityMapper.toDto(c);
                 }
             }
-            return com.zerooneblog.blog.mapper.EntityMapper.toDto(p);
+            return com.zerooneblog.blog.mapper.EntityMapper.toDto(c);
         });
+        commentService.attachLatestComments(result.getContent(), includeComments);
         if (result.getTotalElements() == 0) {
             return org.springframework.http.ResponseEntity.ok(java.util.Map.of(
                 "message", "No posts found for this author",
@@ -179,6 +151,6 @@ public class UserController {
     public ResponseEntity<UserDto> updateMe(@Valid @RequestBody UpdateUserRequest req, Authentication auth) {
         User user = userService.findByEmail(auth.getName());
         User updated = userService.updateProfile(user, req);
-        return ResponseEntity.ok(EntityMapper.toDto(updated));
+        return ResponseEntity.ok(userEnrichmentService.toDto(updated, updated));
     }
 }
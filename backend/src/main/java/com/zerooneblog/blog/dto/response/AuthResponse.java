@@ -10,4 +10,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     private String accessToken;
     private UserDto user;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private long expiresIn;
 }
@@ -0,0 +1,24 @@
+package com.zerooneblog.blog.dto.response;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatusDto {
+    private String id;
+    private String type;
+    private Long targetId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private String currentStep;
+    private Map<String, Long> deleted; // rows deleted so far, per table
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -1,6 +1,7 @@
 package com.zerooneblog.blog.dto.response;
 
 import java.time.Instant;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -13,6 +14,9 @@ public class NotificationDto {
     private Long actorId;
     private String type;
     private String content;
+    private int actorCount;
+    // Usernames of the most recent actors, newest first
+    private List<String> latestActors;
     
     @JsonProperty("isRead")
     private boolean isRead;
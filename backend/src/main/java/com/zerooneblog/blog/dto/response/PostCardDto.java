@@ -0,0 +1,28 @@
+package com.zerooneblog.blog.dto.response;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of a post list, read by the PostRepository card queries without loading the Post entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCardDto {
+    private Long id;
+    private Long authorId;
+    private String authorUsername;
+    private String authorAvatar;
+    private String title;
+    private String excerpt;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
+    private String mediaUrls;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private boolean hidden;
+    private long likesCount;
+    private long commentsCount;
+}
@@ -1,7 +1,9 @@
 package com.zerooneblog.blog.dto.response;
 
 import java.time.Instant;
+import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Data;
@@ -14,6 +16,11 @@ public class PostDto {
     private String authorAvatar;
     private String title;
     private String description;
+
+    // Plain-text start of the description, ending with "…" when clipped. List responses carry it instead of description
+    private String excerpt;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
     private String[] mediaUrls;
     private Instant createdAt;
     private Instant updatedAt;
@@ -23,4 +30,8 @@ public class PostDto {
     
     @JsonProperty("isLiked")
     private boolean isLiked;
+
+    // Latest comments, newest first; only present when the list was requested with includeComments
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentDto> latestComments;
 }
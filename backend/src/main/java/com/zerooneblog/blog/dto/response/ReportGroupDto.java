@@ -0,0 +1,28 @@
+package com.zerooneblog.blog.dto.response;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the moderation queue: all reports with a given status against one post,
+ * or against one user directly.
+ */
+@Data
+@NoArgsConstructor
+public class ReportGroupDto {
+    private String targetType; // POST or USER
+    private Long targetPostId;
+    private Long targetUserId; // the reported user, or the post's author
+    private String postTitle;
+    private boolean postHidden;
+    private String username;
+    private String userAvatar;
+    private boolean userBanned;
+    private long reportCount;
+    private Instant firstReportedAt;
+    private Instant lastReportedAt;
+    private Map<String, Long> topReasons; // most frequent reasons first
+}
@@ -0,0 +1,19 @@
+package com.zerooneblog.blog.dto.response;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsPointDto {
+    private Instant timestamp;
+    private long totalUsers;
+    private long totalPosts;
+    private long pendingReports;
+    private long bannedUsers;
+    private long hiddenPosts;
+}
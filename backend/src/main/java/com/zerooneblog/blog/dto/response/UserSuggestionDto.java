@@ -0,0 +1,14 @@
+package com.zerooneblog.blog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionDto {
+    private Long id;
+    private String username;
+    private String avatar;
+}
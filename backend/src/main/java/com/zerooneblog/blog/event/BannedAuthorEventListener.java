@@ -0,0 +1,67 @@
+package com.zerooneblog.blog.event;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.blog.event.DomainEvent.UserBanned;
+import com.zerooneblog.blog.event.DomainEvent.UserUnbanned;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.service.PostSearchService;
+import com.zerooneblog.blog.service.TrendingService;
+
+/**
+ * Takes a banned author's posts out of the trending ranking and the search index, instead of
+ * leaving every query to skip them, and puts them back in the index when the ban is lifted. Their
+ * trending scores are not restored; new activity ranks them again.
+ */
+@Component
+public class BannedAuthorEventListener implements DomainEventListener {
+    private static final Logger logger = Logger.getLogger(BannedAuthorEventListener.class.getName());
+    private static final int CHUNK_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostSearchService postSearchService;
+    private final TrendingService trendingService;
+
+    public BannedAuthorEventListener(PostRepository postRepository, PostSearchService postSearchService,
+                                     TrendingService trendingService) {
+        this.postRepository = postRepository;
+        this.postSearchService = postSearchService;
+        this.trendingService = trendingService;
+    }
+
+    @Override
+    public String name() {
+        return "banned-authors";
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof UserBanned || event instanceof UserUnbanned;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        boolean banned = event instanceof UserBanned;
+        long userId = banned ? ((UserBanned) event).userId() : ((UserUnbanned) event).userId();
+        int page = 0;
+        int posts = 0;
+        List<Long> ids;
+        do {
+            ids = postRepository.findIdsByAuthorId(userId, PageRequest.of(page++, CHUNK_SIZE, Sort.by("id")));
+            if (banned) {
+                postSearchService.removeAll(ids);
+                ids.forEach(trendingService::remove);
+            } else {
+                postRepository.findAllById(ids).forEach(postSearchService::index);
+            }
+            posts += ids.size();
+        } while (ids.size() == CHUNK_SIZE);
+        logger.info("[BannedAuthorEventListener] onEvent() - " + (banned ? "Removed " : "Restored ") + posts
+                + " posts of user " + userId);
+    }
+}
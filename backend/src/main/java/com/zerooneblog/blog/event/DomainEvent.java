@@ -0,0 +1,37 @@
+package com.zerooneblog.blog.event;
+
+import java.time.Instant;
+
+/**
+ * Something that happened in the domain, published through {@link DomainEventBus} once the
+ * transaction that caused it has committed. Events carry ids rather than entities: listeners run
+ * on their own threads and load whatever they need.
+ */
+public sealed interface DomainEvent {
+
+    record PostCreated(long postId, long authorId) implements DomainEvent {}
+
+    record PostEdited(long postId) implements DomainEvent {}
+
+    record PostDeleted(long postId) implements DomainEvent {}
+
+    /** {@code at} is the like's stored creation time. */
+    record Liked(long postId, long userId, Instant at) implements DomainEvent {}
+
+    /** {@code likedAt} is the creation time of the like that was removed. */
+    record Unliked(long postId, long userId, Instant likedAt) implements DomainEvent {}
+
+    record Commented(long commentId, long postId, long postAuthorId, long commenterId, Instant at) implements DomainEvent {}
+
+    /** {@code commentedAt} is the creation time of the comment that was removed. */
+    record CommentDeleted(long commentId, long postId, Instant commentedAt) implements DomainEvent {}
+
+    record Followed(long userId, long followerId) implements DomainEvent {}
+
+    record Unfollowed(long userId, long followerId) implements DomainEvent {}
+
+    /** Token revocation stays on the ban path itself; this is for anything that may lag behind it. */
+    record UserBanned(long userId) implements DomainEvent {}
+
+    record UserUnbanned(long userId) implements DomainEvent {}
+}
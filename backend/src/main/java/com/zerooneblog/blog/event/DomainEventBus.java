@@ -0,0 +1,170 @@
+package com.zerooneblog.blog.event;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.blog.event.DomainEventListener.Backpressure;
+import com.zerooneblog.blog.util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process publish/subscribe for {@link DomainEvent}s. {@link #publish} defers the event until
+ * the current transaction commits (a rolled-back write publishes nothing) and then only enqueues
+ * it, so side effects such as notifications, search indexing and the trending ranking add no
+ * latency to the write path.
+ *
+ * Each {@link DomainEventListener} has a bounded queue drained by a single worker thread; when the
+ * queue is full the listener's {@link Backpressure} policy applies. A failing listener is logged
+ * and counted and does not affect the others. Every event is handled in a new read-write
+ * transaction: with the caller-runs policy it is handled inside the publisher's after-commit
+ * callback, where that transaction has already committed and would silently swallow the handler's
+ * writes. On shutdown queued events are drained for up to
+ * {@link #SHUTDOWN_DRAIN_SECONDS}; events still queued after that are lost, as are events queued
+ * when the process dies.
+ *
+ * Metrics, tagged by {@code listener}: {@code blog.events.handle} (handling time),
+ * {@code blog.events.failed}, {@code blog.events.dropped}, {@code blog.events.caller.runs} and the
+ * {@code blog.events.queue.size} gauge.
+ */
+@Component
+public class DomainEventBus implements SmartInitializingSingleton {
+    private static final Logger logger = Logger.getLogger(DomainEventBus.class.getName());
+    private static final long SHUTDOWN_DRAIN_SECONDS = 10;
+
+    private final ObjectProvider<DomainEventListener> listenerProvider;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final TransactionTemplate handlerTransaction;
+    private volatile List<Worker> workers = List.of();
+
+    public DomainEventBus(ObjectProvider<DomainEventListener> listenerProvider, MeterRegistry meterRegistry, Environment environment,
+                          PlatformTransactionManager transactionManager) {
+        this.listenerProvider = listenerProvider;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.handlerTransaction = new TransactionTemplate(transactionManager);
+        this.handlerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Listeners are looked up once all beans exist, so a listener may depend on services that publish
+    @Override
+    public void afterSingletonsInstantiated() {
+        workers = listenerProvider.orderedStream().map(Worker::new).toList();
+        logger.info("[DomainEventBus] init() - Registered " + workers.size() + " event listeners");
+    }
+
+    public void publish(DomainEvent event) {
+        AfterCommit.run(() -> dispatch(event));
+    }
+
+    private void dispatch(DomainEvent event) {
+        for (Worker worker : workers) {
+            if (worker.listener.accepts(event)) {
+                worker.offer(event);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Worker worker : workers) worker.executor.shutdown();
+        for (Worker worker : workers) {
+            try {
+                if (!worker.executor.awaitTermination(SHUTDOWN_DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warning("[DomainEventBus] shutdown() - Listener " + worker.listener.name() + " left "
+                            + worker.executor.getQueue().size() + " events unhandled");
+                    worker.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Worker {
+        final DomainEventListener listener;
+        final Backpressure backpressure;
+        final ThreadPoolExecutor executor;
+        final Timer handleTimer;
+        final Counter failed;
+        final Counter dropped;
+        final Counter callerRuns;
+
+        Worker(DomainEventListener listener) {
+            this.listener = listener;
+            String name = listener.name();
+            int capacity = environment.getProperty("blog.events." + name + ".queue-capacity", Integer.class, listener.queueCapacity());
+            this.backpressure = environment.getProperty("blog.events." + name + ".backpressure", Backpressure.class, listener.backpressure());
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity), r -> {
+                Thread t = new Thread(r, "events-" + name);
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+            this.handleTimer = Timer.builder("blog.events.handle").tag("listener", name).register(meterRegistry);
+            this.failed = Counter.builder("blog.events.failed").tag("listener", name).register(meterRegistry);
+            this.dropped = Counter.builder("blog.events.dropped").tag("listener", name).register(meterRegistry);
+            this.callerRuns = Counter.builder("blog.events.caller.runs").tag("listener", name).register(meterRegistry);
+            Gauge.builder("blog.events.queue.size", executor, e -> e.getQueue().size()).tag("listener", name).register(meterRegistry);
+        }
+
+        void offer(DomainEvent event) {
+            Runnable task = () -> handle(event);
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException full) {
+                // Handled below according to the policy
+            }
+            switch (backpressure) {
+                case CALLER_RUNS -> {
+                    callerRuns.increment();
+                    handle(event);
+                }
+                case DROP_NEWEST -> drop(event);
+                case DROP_OLDEST -> {
+                    if (executor.getQueue().poll() != null) dropped.increment();
+                    try {
+                        executor.execute(task);
+                    } catch (RejectedExecutionException stillFull) {
+                        drop(event);
+                    }
+                }
+            }
+        }
+
+        private void drop(DomainEvent event) {
+            dropped.increment();
+            logger.fine("[DomainEventBus] offer() - Queue of " + listener.name() + " is full, dropped " + event);
+        }
+
+        private void handle(DomainEvent event) {
+            handleTimer.record(() -> {
+                try {
+                    handlerTransaction.executeWithoutResult(status -> listener.onEvent(event));
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    logger.warning("[DomainEventBus] handle() - Listener " + listener.name() + " failed on " + event + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.zerooneblog.blog.event;
+
+/**
+ * A consumer of {@link DomainEvent}s. Every listener bean gets its own queue and worker thread in
+ * {@link DomainEventBus}, so events reach it in publication order and a slow listener never holds
+ * up the others. Queue size and backpressure can be overridden per listener with
+ * {@code blog.events.<name>.queue-capacity} and {@code blog.events.<name>.backpressure}.
+ */
+public interface DomainEventListener {
+
+    /** What happens to an event when the listener's queue is full. */
+    enum Backpressure {
+        /** Handle it on the publishing thread: nothing is lost, the publisher slows down. */
+        CALLER_RUNS,
+        /** Discard the new event. */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room. */
+        DROP_OLDEST
+    }
+
+    /** Used in thread names, metric tags and property keys. */
+    String name();
+
+    boolean accepts(DomainEvent event);
+
+    void onEvent(DomainEvent event);
+
+    default int queueCapacity() {
+        return 10_000;
+    }
+
+    default Backpressure backpressure() {
+        return Backpressure.CALLER_RUNS;
+    }
+}
@@ -0,0 +1,90 @@
+package com.zerooneblog.blog.event;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.blog.event.DomainEvent.Commented;
+import com.zerooneblog.blog.event.DomainEvent.Followed;
+import com.zerooneblog.blog.event.DomainEvent.PostCreated;
+import com.zerooneblog.blog.event.DomainEvent.Unfollowed;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.FollowGraphIndex;
+import com.zerooneblog.blog.service.NotificationService;
+
+/**
+ * Turns domain events into notifications: new posts for the author's followers, comments for the
+ * post's author and follows for the followed user.
+ */
+@Component
+public class NotificationEventListener implements DomainEventListener {
+    private static final Logger logger = Logger.getLogger(NotificationEventListener.class.getName());
+
+    private final NotificationService notificationService;
+    private final FollowGraphIndex followGraphIndex;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+
+    public NotificationEventListener(NotificationService notificationService, FollowGraphIndex followGraphIndex,
+                                     UserRepository userRepository, PostRepository postRepository) {
+        this.notificationService = notificationService;
+        this.followGraphIndex = followGraphIndex;
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public String name() {
+        return "notifications";
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof PostCreated || event instanceof Commented
+                || event instanceof Followed || event instanceof Unfollowed;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof PostCreated e) {
+            notifyFollowers(e);
+        } else if (event instanceof Commented e) {
+            User author = userRepository.findById(e.postAuthorId()).orElse(null);
+            User commenter = userRepository.findById(e.commenterId()).orElse(null);
+            if (author == null || commenter == null) return;
+            notificationService.notifyCoalesced(author, NotificationService.TYPE_NEW_COMMENT, e.postId(), commenter);
+        } else if (event instanceof Followed e) {
+            User target = userRepository.findById(e.userId()).orElse(null);
+            User follower = userRepository.findById(e.followerId()).orElse(null);
+            if (target == null || follower == null) return;
+            notificationService.notifyCoalesced(target, NotificationService.TYPE_NEW_SUBSCRIBER, e.userId(), follower);
+        } else if (event instanceof Unfollowed e) {
+            userRepository.findById(e.userId()).ifPresent(target ->
+                    notificationService.deleteNotification(target, NotificationService.TYPE_NEW_SUBSCRIBER, e.followerId()));
+        }
+    }
+
+    private void notifyFollowers(PostCreated e) {
+        long[] followerIds = followGraphIndex.followersOf(e.authorId());
+        if (followerIds.length == 0) return;
+        Post post = postRepository.findById(e.postId()).orElse(null);
+        User author = userRepository.findById(e.authorId()).orElse(null);
+        if (post == null || author == null) return;
+
+        String postTitle = post.getTitle() != null && !post.getTitle().isBlank() ? post.getTitle() : "a new post";
+        List<Long> ids = Arrays.stream(followerIds).boxed().toList();
+        // Don't notify the author about their own post
+        List<User> receivers = userRepository.findAllById(ids).stream()
+                .filter(follower -> !follower.getId().equals(author.getId()))
+                .toList();
+        if (receivers.isEmpty()) return;
+        int sent = notificationService.createNotifications(receivers, "new_post",
+                "@" + author.getUsername() + " posted: " + postTitle, author.getId()).size();
+        logger.info("[NotificationEventListener] notifyFollowers() - Notified " + sent + " followers of post " + e.postId());
+    }
+}
@@ -0,0 +1,42 @@
+package com.zerooneblog.blog.event;
+
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.blog.event.DomainEvent.PostCreated;
+import com.zerooneblog.blog.event.DomainEvent.PostDeleted;
+import com.zerooneblog.blog.event.DomainEvent.PostEdited;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.service.PostSearchService;
+
+/** Keeps the full-text index in step with created, edited and deleted posts. */
+@Component
+public class SearchIndexEventListener implements DomainEventListener {
+    private final PostSearchService postSearchService;
+    private final PostRepository postRepository;
+
+    public SearchIndexEventListener(PostSearchService postSearchService, PostRepository postRepository) {
+        this.postSearchService = postSearchService;
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public String name() {
+        return "search-index";
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof PostCreated || event instanceof PostEdited || event instanceof PostDeleted;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof PostDeleted e) {
+            postSearchService.remove(e.postId());
+            return;
+        }
+        long postId = event instanceof PostCreated e ? e.postId() : ((PostEdited) event).postId();
+        // Indexes the post as it is now, so a late event never brings back stale text
+        postRepository.findById(postId).ifPresentOrElse(postSearchService::index, () -> postSearchService.remove(postId));
+    }
+}
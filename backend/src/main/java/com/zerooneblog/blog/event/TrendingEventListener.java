@@ -0,0 +1,46 @@
+package com.zerooneblog.blog.event;
+
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.blog.event.DomainEvent.CommentDeleted;
+import com.zerooneblog.blog.event.DomainEvent.Commented;
+import com.zerooneblog.blog.event.DomainEvent.Liked;
+import com.zerooneblog.blog.event.DomainEvent.PostDeleted;
+import com.zerooneblog.blog.event.DomainEvent.Unliked;
+import com.zerooneblog.blog.service.TrendingService;
+
+/** Feeds likes and comments into the trending ranking and drops deleted posts from it. */
+@Component
+public class TrendingEventListener implements DomainEventListener {
+    private final TrendingService trendingService;
+
+    public TrendingEventListener(TrendingService trendingService) {
+        this.trendingService = trendingService;
+    }
+
+    @Override
+    public String name() {
+        return "trending";
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof Liked || event instanceof Unliked || event instanceof Commented
+                || event instanceof CommentDeleted || event instanceof PostDeleted;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof Liked e) {
+            trendingService.likeAdded(e.postId(), e.at());
+        } else if (event instanceof Unliked e) {
+            trendingService.likeRemoved(e.postId(), e.likedAt());
+        } else if (event instanceof Commented e) {
+            trendingService.commentAdded(e.postId(), e.at());
+        } else if (event instanceof CommentDeleted e) {
+            trendingService.commentRemoved(e.postId(), e.commentedAt());
+        } else if (event instanceof PostDeleted e) {
+            trendingService.remove(e.postId());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.zerooneblog.blog.mapper;
 
 import com.zerooneblog.blog.dto.response.CommentDto;
 import com.zerooneblog.blog.dto.response.NotificationDto;
+import com.zerooneblog.blog.dto.response.PostCardDto;
 import com.zerooneblog.blog.dto.response.PostDto;
 import com.zerooneblog.blog.dto.response.ReportDto;
 import com.zerooneblog.blog.dto.response.UserDto;
@@ -12,14 +13,18 @@ import com.zerooneblog.blog.model.Report;
 import com.zerooneblog.blog.model.User;
 import com.zerooneblog.blog.repository.CommentRepository;
 import com.zerooneblog.blog.repository.LikeRepository;
+import com.zerooneblog.blog.service.LikeWriteBehindBuffer;
+import com.zerooneblog.blog.service.NotificationService;
 
 public class EntityMapper {
     private static CommentRepository commentRepository;
     private static LikeRepository likeRepository;
+    private static LikeWriteBehindBuffer likeWriteBehindBuffer;
 
-    public EntityMapper(CommentRepository commentRepository, LikeRepository likeRepository) {
+    public EntityMapper(CommentRepository commentRepository, LikeRepository likeRepository, LikeWriteBehindBuffer likeWriteBehindBuffer) {
         EntityMapper.commentRepository = commentRepository;
         EntityMapper.likeRepository = likeRepository;
+        EntityMapper.likeWriteBehindBuffer = likeWriteBehindBuffer;
     }
 
     public static UserDto toDto(User u) {
@@ -34,6 +39,8 @@ public class EntityMapper {
         d.setBanned(u.isBanned());
         d.setCreatedAt(u.getCreatedAt());
         d.setRole(u.getRole());
+        d.setSubscribersCount(u.getFollowersCount());
+        d.setSubscriptionsCount(u.getFollowingCount());
         return d;
     }
 
@@ -54,16 +61,11 @@ public class EntityMapper {
         }
         d.setTitle(p.getTitle());
         d.setDescription(p.getDescription());
+        d.setExcerpt(p.getExcerpt());
+        d.setWordCount(p.getWordCount());
+        d.setReadingTimeMinutes(p.getReadingTimeMinutes());
 
-        // Parse JSON mediaUrls array
-        if (p.getMediaUrls() != null && !p.getMediaUrls().isEmpty()) {
-            try {
-                d.setMediaUrls(new com.fasterxml.jackson.databind.ObjectMapper().readValue(p.getMediaUrls(), String[].class));
-            } catch (Exception e) {
-                System.err.println("Error deserializing mediaUrls: " + e.getMessage());
-                d.setMediaUrls(new String[]{});
-            }
-        }
+        d.setMediaUrls(parseMediaUrls(p.getMediaUrls()));
 
         d.setCreatedAt(p.getCreatedAt());
         d.setUpdatedAt(p.getUpdatedAt());
@@ -71,9 +73,12 @@ public class EntityMapper {
 
         // Set like and comment counts if repositories are initialized
         if (likeRepository != null) {
-            d.setLikesCount(likeRepository.countByPost(p));
+            // Like changes still buffered in memory are overlaid, so users see their own likes at once
+            long pending = likeWriteBehindBuffer != null ? likeWriteBehindBuffer.pendingDelta(p.getId()) : 0;
+            d.setLikesCount(likeRepository.countByPost(p) + pending);
             if (currentUser != null) {
-                d.setLiked(likeRepository.findByUserAndPost(currentUser, p).isPresent());
+                Boolean known = likeWriteBehindBuffer != null ? likeWriteBehindBuffer.knownLiked(p.getId(), currentUser.getId()) : null;
+                d.setLiked(known != null ? known : likeRepository.findByUserAndPost(currentUser, p).isPresent());
             }
         }
         if (commentRepository != null) {
@@ -83,6 +88,48 @@ public class EntityMapper {
         return d;
     }
 
+    public static PostDto toDto(PostCardDto c) {
+        return toDto(c, null);
+    }
+
+    // List pages: the card query already carries the author and the stored counts, so only the
+    // buffered like changes and the viewer's like are looked up here
+    public static PostDto toDto(PostCardDto c, User currentUser) {
+        if (c == null) return null;
+        PostDto d = new PostDto();
+        d.setId(c.getId());
+        d.setAuthorId(c.getAuthorId());
+        d.setAuthorUsername(c.getAuthorUsername());
+        d.setAuthorAvatar(c.getAuthorAvatar() == null || c.getAuthorAvatar().isBlank() ? null : c.getAuthorAvatar());
+        d.setTitle(c.getTitle());
+        d.setExcerpt(c.getExcerpt());
+        d.setWordCount(c.getWordCount());
+        d.setReadingTimeMinutes(c.getReadingTimeMinutes());
+        d.setMediaUrls(parseMediaUrls(c.getMediaUrls()));
+        d.setCreatedAt(c.getCreatedAt());
+        d.setUpdatedAt(c.getUpdatedAt());
+        d.setHidden(c.isHidden());
+        long pending = likeWriteBehindBuffer != null ? likeWriteBehindBuffer.pendingDelta(c.getId()) : 0;
+        d.setLikesCount(c.getLikesCount() + pending);
+        d.setCommentsCount(c.getCommentsCount());
+        if (currentUser != null && likeRepository != null) {
+            Boolean known = likeWriteBehindBuffer != null ? likeWriteBehindBuffer.knownLiked(c.getId(), currentUser.getId()) : null;
+            d.setLiked(known != null ? known : !likeRepository.findIdAndCreatedAt(c.getId(), currentUser.getId()).isEmpty());
+        }
+        return d;
+    }
+
+    // Parse JSON mediaUrls array
+    private static String[] parseMediaUrls(String json) {
+        if (json == null || json.isEmpty()) return null;
+        try {
+            return new com.fasterxml.jackson.databind.ObjectMapper().readValue(json, String[].class);
+        } catch (Exception e) {
+            System.err.println("Error deserializing mediaUrls: " + e.getMessage());
+            return new String[]{};
+        }
+    }
+
     public static CommentDto toDto(Comment c) {
         if (c == null) return null;
         CommentDto d = new CommentDto();
@@ -108,6 +155,8 @@ public class EntityMapper {
         d.setActorId(n.getActorId());
         d.setType(n.getType());
         d.setContent(n.getContent());
+        d.setActorCount(n.getActorCount());
+        d.setLatestActors(NotificationService.latestActorNames(n));
         d.setRead(n.isRead());
         d.setCreatedAt(n.getCreatedAt());
         return d;
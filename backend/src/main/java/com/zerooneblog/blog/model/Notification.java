@@ -2,6 +2,8 @@ package com.zerooneblog.blog.model;
 
 import java.time.Instant;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
@@ -10,21 +12,29 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_coalesce", columnList = "receiver_id, type, targetId"),
+        @Index(name = "idx_notifications_receiver_created", columnList = "receiver_id, createdAt"),
+        @Index(name = "idx_notifications_receiver_unread", columnList = "receiver_id, is_read"),
+        @Index(name = "idx_notifications_created", columnList = "createdAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,7 +43,18 @@ public class Notification {
     // The user who triggered the notification (e.g., who followed, who posted)
     private Long actorId;
 
-    private String type; // new_post, new_subscriber
+    private String type; // new_post, new_subscriber, new_comment
+
+    // What the notification is about, for types that coalesce: the post for new_comment, the followed user for new_subscriber
+    private Long targetId;
+
+    // Number of actors merged into this row; 1 for a plain notification
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private int actorCount = 1;
+
+    // Most recent actors, newest first, as ",id:username," entries (see NotificationService)
+    private String latestActors;
 
     @Column(columnDefinition = "TEXT")
     private String content;
@@ -42,6 +63,7 @@ public class Notification {
     @Column(name = "is_read")
     private boolean isRead = false;
 
+    // Time of the latest event; moved forward when another actor is merged in
     private Instant createdAt;
 
     @PrePersist
@@ -9,19 +9,24 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "post_likes")
+// One like per user and post; LikeService relies on this to stay race-free
+@Table(name = "post_likes", uniqueConstraints = @UniqueConstraint(name = "uk_post_likes_post_user", columnNames = {"post_id", "user_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostLike {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Likes are inserted by native conditional statements that call nextval themselves, one row at a time
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_likes_seq")
+    @SequenceGenerator(name = "post_likes_seq", sequenceName = "post_likes_seq", allocationSize = 1)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,56 @@
+package com.zerooneblog.blog.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A server-side refresh token. Only the SHA-256 of the token is stored. A token is single-use:
+ * refreshing stamps {@code rotatedAt} and issues a new one, and presenting a rotated token again
+ * is treated as theft.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user", columnList = "userId")
+})
+@Data
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // The user's tokenVersion at issue time; a ban or forced logout bumps it and voids the token
+    @Column(nullable = false)
+    private Long tokenVersion;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant rotatedAt;
+
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = Instant.now();
+    }
+}
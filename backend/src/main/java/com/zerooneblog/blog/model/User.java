@@ -2,12 +2,21 @@ package com.zerooneblog.blog.model;
 
 import java.time.Instant;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -19,12 +28,18 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "users")
+// Only write changed columns, so saving a stale User never overwrites the subscription counts
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -37,6 +52,8 @@ public class User {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    // Resolved through the natural-id cache by UserRepository.findByEmail (every authenticated request)
+    @NaturalId(mutable = true)
     private String email;
 
     private String role = "USER";
@@ -50,6 +67,15 @@ public class User {
     // Token version - increment to invalidate all existing tokens
     private Long tokenVersion = 0L;
 
+    // Denormalized subscription counts - maintained by UserService, repaired by SubscriptionCountReconciler
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long followersCount = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long followingCount = 0;
+
     @Column(updatable = false)
     private Instant createdAt;
 
@@ -8,10 +8,41 @@ import com.zerooneblog.blog.model.Comment;
 import com.zerooneblog.blog.model.Post;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    // Comment lists fetch the commenter with each row; the post is only read for its id
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "user")
     Page<Comment> findByPost(Post post, Pageable pageable);
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "user")
     Page<Comment> findByPostOrderByCreatedAtDesc(Post post, Pageable pageable);
     long countByPost(Post post);
     
+    // Ids of the latest :perPost comments of each post, newest first, for a whole page of posts at once
+    @org.springframework.data.jpa.repository.Query(value = "select ranked.id from (select c.id, c.post_id, c.created_at, "
+            + "row_number() over (partition by c.post_id order by c.created_at desc, c.id desc) as rn "
+            + "from comments c where c.post_id in (:postIds)) ranked where ranked.rn <= :perPost "
+            + "order by ranked.post_id, ranked.rn", nativeQuery = true)
+    java.util.List<Long> findLatestIdsPerPost(@org.springframework.data.repository.query.Param("postIds") java.util.Collection<Long> postIds,
+                                              @org.springframework.data.repository.query.Param("perPost") int perPost);
+    
+    @org.springframework.data.jpa.repository.Query("select c from Comment c join fetch c.user where c.id in :ids order by c.createdAt desc, c.id desc")
+    java.util.List<Comment> findAllWithUserByIdIn(@org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids);
+    
+    // Id chunks for the background user-deletion job: comments by the user or on their posts
+    @org.springframework.data.jpa.repository.Query("select c.id from Comment c where c.user.id = :userId or c.post.author.id = :userId")
+    java.util.List<Long> findIdsInvolvingUser(@org.springframework.data.repository.query.Param("userId") Long userId, Pageable pageable);
+    
+    // [postId, createdAt] of recent comments, replayed into the trending ranking on startup
+    @org.springframework.data.jpa.repository.Query("select c.post.id, c.createdAt from Comment c where c.createdAt > :since")
+    java.util.List<Object[]> findActivitySince(@org.springframework.data.repository.query.Param("since") java.time.Instant since);
+    
+    // Set-based deletes run by the user-deletion job in the same transaction as the posts or user they depend on
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("delete from Comment c where c.post.id in :postIds")
+    int deleteByPostIds(@org.springframework.data.repository.query.Param("postIds") java.util.List<Long> postIds);
+    
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("delete from Comment c where c.user.id = :userId")
+    int deleteByUserId(@org.springframework.data.repository.query.Param("userId") Long userId);
+    
     @org.springframework.data.jpa.repository.Modifying
     @org.springframework.transaction.annotation.Transactional
     void deleteByUser(com.zerooneblog.blog.model.User user);
@@ -12,6 +12,51 @@ public interface LikeRepository extends JpaRepository<PostLike, Long> {
     Optional<PostLike> findByUserAndPost(User user, Post post);
     long countByPost(Post post);
     
+    // Id chunks for the background user-deletion job: likes by the user or on their posts
+    @org.springframework.data.jpa.repository.Query("select l.id from PostLike l where l.user.id = :userId or l.post.author.id = :userId")
+    java.util.List<Long> findIdsInvolvingUser(@org.springframework.data.repository.query.Param("userId") Long userId, org.springframework.data.domain.Pageable pageable);
+    
+    // [postId, createdAt] of recent likes, replayed into the trending ranking on startup
+    @org.springframework.data.jpa.repository.Query("select l.post.id, l.createdAt from PostLike l where l.createdAt > :since")
+    java.util.List<Object[]> findActivitySince(@org.springframework.data.repository.query.Param("since") java.time.Instant since);
+    
+    // Adds the like only if the post exists, is visible to the caller and is not liked yet; returns
+    // the inserted row count. Two racing inserts are settled by the (post_id, user_id) unique key.
+    // Declaring the table it writes keeps Hibernate from clearing the whole second-level cache.
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.QueryHints(@jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES, value = "post_likes"))
+    @org.springframework.data.jpa.repository.Query(value = "insert into post_likes (id, post_id, user_id, created_at) "
+            + "select nextval('post_likes_seq'), p.id, :userId, :now from posts p where p.id = :postId and (p.hidden = false or :admin = true) "
+            + "and not exists (select 1 from post_likes l where l.post_id = :postId and l.user_id = :userId)", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("postId") Long postId,
+                       @org.springframework.data.repository.query.Param("userId") Long userId,
+                       @org.springframework.data.repository.query.Param("admin") boolean admin,
+                       @org.springframework.data.repository.query.Param("now") java.time.Instant now);
+    
+    // [id, createdAt] of the user's like on a post, if any
+    @org.springframework.data.jpa.repository.Query("select l.id, l.createdAt from PostLike l where l.post.id = :postId and l.user.id = :userId")
+    java.util.List<Object[]> findIdAndCreatedAt(@org.springframework.data.repository.query.Param("postId") Long postId,
+                                                @org.springframework.data.repository.query.Param("userId") Long userId);
+    
+    // Removes one like if its post is still visible to the caller; 0 when it was already gone
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("delete from PostLike l where l.id = :id "
+            + "and exists (select p.id from Post p where p.id = :postId and (p.hidden = false or :admin = true))")
+    int deleteIfVisible(@org.springframework.data.repository.query.Param("id") Long id,
+                        @org.springframework.data.repository.query.Param("postId") Long postId,
+                        @org.springframework.data.repository.query.Param("admin") boolean admin);
+    
+    // Set-based deletes run by the user-deletion job in the same transaction as the posts or user they depend on
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("delete from PostLike l where l.post.id in :postIds")
+    int deleteByPostIds(@org.springframework.data.repository.query.Param("postIds") java.util.List<Long> postIds);
+    
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("delete from PostLike l where l.user.id = :userId")
+    int deleteByUserId(@org.springframework.data.repository.query.Param("userId") Long userId);
+    
     @org.springframework.data.jpa.repository.Modifying
     @org.springframework.transaction.annotation.Transactional
     void deleteByUser(User user);
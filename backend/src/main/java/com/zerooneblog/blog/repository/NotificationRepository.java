@@ -14,10 +14,41 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     // For removing follow notifications on unfollow
     void deleteByReceiverAndTypeAndActorId(User receiver, String type, Long actorId);
+    void deleteByReceiverAndTypeAndActorIdAndActorCount(User receiver, String type, Long actorId, int actorCount);
+    
+    // Unread row of the same type and target still inside the coalescing window, locked for the merge
+    @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
+    @org.springframework.data.jpa.repository.Query("select n from Notification n where n.receiver = :receiver and n.type = :type "
+            + "and n.targetId = :targetId and n.isRead = false and n.createdAt > :since order by n.createdAt desc")
+    java.util.List<Notification> findCoalescable(@org.springframework.data.repository.query.Param("receiver") User receiver,
+                                                 @org.springframework.data.repository.query.Param("type") String type,
+                                                 @org.springframework.data.repository.query.Param("targetId") Long targetId,
+                                                 @org.springframework.data.repository.query.Param("since") java.time.Instant since,
+                                                 Pageable pageable);
+    
+    // Merged rows that still list the actor among their latest actors
+    @org.springframework.data.jpa.repository.Query("select n from Notification n where n.receiver = :receiver and n.type = :type "
+            + "and n.actorCount > 1 and n.latestActors like :pattern")
+    java.util.List<Notification> findMergedWithActor(@org.springframework.data.repository.query.Param("receiver") User receiver,
+                                                     @org.springframework.data.repository.query.Param("type") String type,
+                                                     @org.springframework.data.repository.query.Param("pattern") String pattern);
     
     // Find notifications by receiver and type
     java.util.List<Notification> findByReceiverAndType(User receiver, String type);
     
+    // Id chunks for the background user-deletion job
+    @org.springframework.data.jpa.repository.Query("select n.id from Notification n where n.receiver.id = :userId")
+    java.util.List<Long> findIdsByReceiverId(@org.springframework.data.repository.query.Param("userId") Long userId, Pageable pageable);
+    
+    // Notifications that reached the user after the job's chunked step, deleted with the user
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("delete from Notification n where n.receiver.id = :userId")
+    int deleteByReceiverId(@org.springframework.data.repository.query.Param("userId") Long userId);
+    
+    // Id chunks of read notifications older than the retention cutoff, oldest first
+    @org.springframework.data.jpa.repository.Query("select n.id from Notification n where n.isRead = true and n.createdAt < :before order by n.createdAt")
+    java.util.List<Long> findReadIdsBefore(@org.springframework.data.repository.query.Param("before") java.time.Instant before, Pageable pageable);
+    
     // Delete all notifications for a user
     @org.springframework.data.jpa.repository.Modifying
     @org.springframework.transaction.annotation.Transactional
@@ -2,26 +2,98 @@ package com.zerooneblog.blog.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.zerooneblog.blog.dto.response.PostCardDto;
 import com.zerooneblog.blog.model.Post;
 import com.zerooneblog.blog.model.User;
 
+// Methods returning posts for a list fetch the author in the same query: EntityMapper reads it for every row
 public interface PostRepository extends JpaRepository<Post, Long> {
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthor(User author, Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorIn(Iterable<User> authors, Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     Page<Post> findAllByHiddenFalse(Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorAndHiddenFalse(User author, Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorInAndHiddenFalse(Iterable<User> authors, Pageable pageable);
     
     // Sorted by newest first
+    @EntityGraph(attributePaths = "author")
     Page<Post> findAllByHiddenFalseOrderByCreatedAtDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorAndHiddenFalseOrderByCreatedAtDesc(User author, Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorInAndHiddenFalseOrderByCreatedAtDesc(Iterable<User> authors, Pageable pageable);
+    @EntityGraph(attributePaths = "author")
+    Page<Post> findByAuthorIdInAndHiddenFalseOrderByCreatedAtDesc(java.util.Collection<Long> authorIds, Pageable pageable);
+    
+    // Search results, trending and the moderation queue load pages of posts by id; admin lists and reindexing page through all
+    @Override
+    @EntityGraph(attributePaths = "author")
+    java.util.List<Post> findAllById(Iterable<Long> ids);
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Page<Post> findAll(Pageable pageable);
+    
+    // List pages read card columns only: the stored excerpt rather than the whole TEXT body, with like
+    // and comment counts computed in the same query. Clients load the full post from GET /posts/{id}.
+    String CARD_SELECT = "select new com.zerooneblog.blog.dto.response.PostCardDto(p.id, a.id, a.username, a.avatarUrl, p.title, "
+            + "p.excerpt, p.wordCount, p.readingTimeMinutes, p.mediaUrls, p.createdAt, p.updatedAt, p.hidden, "
+            + "(select count(l) from PostLike l where l.post = p), (select count(c) from Comment c where c.post = p)) "
+            + "from Post p join p.author a ";
+
+    @org.springframework.data.jpa.repository.Query(value = CARD_SELECT + "where p.hidden = false order by p.createdAt desc",
+            countQuery = "select count(p) from Post p where p.hidden = false")
+    Page<PostCardDto> findCardsByHiddenFalse(Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query(value = CARD_SELECT + "where a.id in :authorIds and p.hidden = false order by p.createdAt desc",
+            countQuery = "select count(p) from Post p where p.author.id in :authorIds and p.hidden = false")
+    Page<PostCardDto> findCardsByAuthorIdInAndHiddenFalse(@org.springframework.data.repository.query.Param("authorIds") java.util.Collection<Long> authorIds, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query(value = CARD_SELECT + "where a.id = :authorId and p.hidden = false order by p.createdAt desc",
+            countQuery = "select count(p) from Post p where p.author.id = :authorId and p.hidden = false")
+    Page<PostCardDto> findCardsByAuthorIdAndHiddenFalse(@org.springframework.data.repository.query.Param("authorId") Long authorId, Pageable pageable);
+
+    // Trending candidates by id, in no particular order; the caller restores the ranking
+    @org.springframework.data.jpa.repository.Query(CARD_SELECT + "where p.id in :ids and p.hidden = false and a.banned = false")
+    java.util.List<PostCardDto> findVisibleCardsByIdIn(@org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids);
+
+    // Hidden posts included, for the admin list
+    @org.springframework.data.jpa.repository.Query(value = CARD_SELECT + "order by p.createdAt desc",
+            countQuery = "select count(p) from Post p")
+    Page<PostCardDto> findAllCards(Pageable pageable);
+    
+    // [id, description] of posts stored before excerpts were derived on write, for PostService.backfillTextStats
+    @org.springframework.data.jpa.repository.Query("select p.id, p.description from Post p where p.wordCount is null order by p.id")
+    java.util.List<Object[]> findDescriptionsWithoutTextStats(Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("update Post p set p.excerpt = :excerpt, p.wordCount = :wordCount, p.readingTimeMinutes = :readingTimeMinutes where p.id = :id")
+    int updateTextStats(@org.springframework.data.repository.query.Param("id") Long id,
+                        @org.springframework.data.repository.query.Param("excerpt") String excerpt,
+                        @org.springframework.data.repository.query.Param("wordCount") Integer wordCount,
+                        @org.springframework.data.repository.query.Param("readingTimeMinutes") Integer readingTimeMinutes);
     
     // Find all posts by author (for delete cascade)
     java.util.List<Post> findByAuthor(User author);
     
+    // Id chunks for the background user-deletion job
+    @org.springframework.data.jpa.repository.Query("select p.id from Post p where p.author.id = :authorId")
+    java.util.List<Long> findIdsByAuthorId(@org.springframework.data.repository.query.Param("authorId") Long authorId, Pageable pageable);
+    
+    // Hides a user's posts when their deletion is queued, so no new likes or comments reach them
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("update Post p set p.hidden = true where p.author.id = :authorId and p.hidden = false")
+    int hideByAuthorId(@org.springframework.data.repository.query.Param("authorId") Long authorId);
+    
     // Count hidden posts
     long countByHidden(boolean hidden);
+    
+    long countByIdInAndHiddenTrue(java.util.List<Long> ids);
 }
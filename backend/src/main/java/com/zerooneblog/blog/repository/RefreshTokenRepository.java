@@ -0,0 +1,40 @@
+package com.zerooneblog.blog.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zerooneblog.blog.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    // Claims a token for rotation; 0 means another request already rotated it
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.rotatedAt = :now where t.id = :id and t.rotatedAt is null")
+    int markRotated(@Param("id") Long id, @Param("now") Instant now);
+    
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+    
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    // Expired tokens, and rotated ones once their reuse-detection window has passed
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.expiresAt < :now or t.rotatedAt < :rotatedBefore")
+    int deleteStale(@Param("now") Instant now, @Param("rotatedBefore") Instant rotatedBefore);
+}
@@ -1,9 +1,14 @@
 package com.zerooneblog.blog.repository;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.zerooneblog.blog.model.Post;
@@ -11,9 +16,56 @@ import com.zerooneblog.blog.model.Report;
 import com.zerooneblog.blog.model.User;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
+    // The admin report list maps the reporter, the reported user and the reported post with its author
+    @EntityGraph(attributePaths = {"reporter", "targetUser", "targetPost", "targetPost.author"})
     Page<Report> findByStatus(String status, Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = {"reporter", "targetUser", "targetPost", "targetPost.author"})
+    Page<Report> findAll(Pageable pageable);
+    
     long countByStatus(String status);
     
+    // Moderation queue: one row per target - [targetPostId, targetUserId, count, firstAt, lastAt].
+    // A post report also carries the post's author as targetUser, so (post, user) identifies the target.
+    @Query(value = "select r.targetPost.id, r.targetUser.id, count(r), min(r.createdAt), max(r.createdAt) from Report r "
+            + "where r.status = :status group by r.targetPost.id, r.targetUser.id "
+            + "order by count(r) desc, max(r.createdAt) desc",
+            countQuery = "select count(*) from (select r.targetPost.id as postId, r.targetUser.id as userId from Report r "
+            + "where r.status = :status group by r.targetPost.id, r.targetUser.id)")
+    Page<Object[]> findReportGroups(@Param("status") String status, Pageable pageable);
+    
+    // Reason counts for a page of targets - [targetPostId, targetUserId, reason, count]
+    @Query("select r.targetPost.id, r.targetUser.id, r.reason, count(r) from Report r "
+            + "where r.status = :status and (r.targetPost.id in :postIds or (r.targetPost is null and r.targetUser.id in :userIds)) "
+            + "group by r.targetPost.id, r.targetUser.id, r.reason")
+    List<Object[]> countReasonsForTargets(@Param("status") String status,
+                                          @Param("postIds") java.util.Collection<Long> postIds,
+                                          @Param("userIds") java.util.Collection<Long> userIds);
+    
+    // Bulk status change for every report in one target group
+    @Modifying
+    @Transactional
+    @Query("update Report r set r.status = :newStatus where r.status = :oldStatus and r.targetPost.id = :postId")
+    int updateStatusForPost(@Param("postId") Long postId, @Param("oldStatus") String oldStatus, @Param("newStatus") String newStatus);
+    
+    @Modifying
+    @Transactional
+    @Query("update Report r set r.status = :newStatus where r.status = :oldStatus and r.targetPost is null and r.targetUser.id = :userId")
+    int updateStatusForUser(@Param("userId") Long userId, @Param("oldStatus") String oldStatus, @Param("newStatus") String newStatus);
+    
+    // Id chunks for the background user-deletion job: reports by, about, or on posts of the user
+    @Query("select r.id from Report r left join r.targetPost p "
+            + "where r.reporter.id = :userId or r.targetUser.id = :userId or p.author.id = :userId")
+    List<Long> findIdsInvolvingUser(@Param("userId") Long userId, Pageable pageable);
+    
+    // Reports on a chunk of posts, deleted by the user-deletion job together with the posts
+    @Query("select r.id from Report r where r.targetPost.id in :postIds")
+    List<Long> findIdsByTargetPostIds(@Param("postIds") List<Long> postIds);
+    
+    // How many of the given reports are still pending, for the dashboard counters
+    long countByIdInAndStatus(List<Long> ids, String status);
+    
     @Modifying
     @Transactional
     void deleteByReporter(User reporter);
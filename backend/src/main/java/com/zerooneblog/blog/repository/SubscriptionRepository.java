@@ -3,7 +3,11 @@ package com.zerooneblog.blog.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.zerooneblog.blog.model.Subscription;
@@ -20,7 +24,17 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     
     boolean existsByUserIdAndSubscriberId(Long userId, Long subscriberId);
     
-    void deleteByUserIdAndSubscriberId(Long userId, Long subscriberId);
+    // Keyset-paged [id, userId, subscriberId] rows for loading the follow graph
+    @Query("select s.id, s.userId, s.subscriberId from Subscription s where s.id > :afterId order by s.id")
+    List<Object[]> findEdgesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Id chunks for the background user-deletion job, both directions
+    @Query("select s.id from Subscription s where s.userId = :userId or s.subscriberId = :userId")
+    List<Long> findIdsInvolvingUser(@Param("userId") Long userId, Pageable pageable);
+    
+    @Modifying
+    @Query("delete from Subscription s where s.userId = :userId and s.subscriberId = :subscriberId")
+    int deleteByUserIdAndSubscriberId(@Param("userId") Long userId, @Param("subscriberId") Long subscriberId);
     
     // Delete all subscriptions for a user (when user is deleted)
     @org.springframework.data.jpa.repository.Modifying
@@ -1,16 +1,19 @@
 package com.zerooneblog.blog.repository;
 
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.zerooneblog.blog.dto.response.UserSuggestionDto;
 import com.zerooneblog.blog.model.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
-    Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     
@@ -20,8 +23,45 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsernameIgnoreCase(String username);
     boolean existsByEmailIgnoreCase(String email);
     
-    // Search by username (case-insensitive)
-    Page<User> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
+    // Minimal rows for the in-memory username index
+    @Query("select new com.zerooneblog.blog.dto.response.UserSuggestionDto(u.id, u.username, u.avatarUrl) from User u")
+    List<UserSuggestionDto> findAllSuggestions();
+    
+    // [id, tokenVersion, banned] of users whose tokens may be revoked, for the in-memory revocation table
+    @Query("select u.id, u.tokenVersion, u.banned from User u where u.tokenVersion > 0 or u.banned = true")
+    List<Object[]> findRevocationStates();
+    
+    // Swaps the password hash only if it was not changed in the meantime (rehash on login)
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+    
+    // Before a chunk of a user's subscriptions is deleted, in the same transaction: the users they
+    // follow lose a follower, and the users following them lose a following. Like every bulk update
+    // of User these empty the users cache region, which is fine for account deletion but not for
+    // routine follows
+    @Modifying
+    @Transactional
+    @Query("update User u set u.followersCount = u.followersCount - 1 "
+            + "where u.id in (select s.userId from Subscription s where s.id in :ids and s.subscriberId = :subscriberId)")
+    int decrementFollowersFollowedBy(@Param("subscriberId") Long subscriberId, @Param("ids") List<Long> ids);
+    
+    @Modifying
+    @Transactional
+    @Query("update User u set u.followingCount = u.followingCount - 1 "
+            + "where u.id in (select s.subscriberId from Subscription s where s.id in :ids and s.userId = :userId)")
+    int decrementFollowingOf(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+    
+    // Rewrites the stored counts of every user whose counts drifted from the subscriptions table
+    @Modifying
+    @Transactional
+    @Query("update User u set "
+            + "u.followersCount = (select count(s) from Subscription s where s.userId = u.id), "
+            + "u.followingCount = (select count(s) from Subscription s where s.subscriberId = u.id) "
+            + "where u.followersCount <> (select count(s) from Subscription s where s.userId = u.id) "
+            + "or u.followingCount <> (select count(s) from Subscription s where s.subscriberId = u.id)")
+    int reconcileSubscriptionCounts();
     
     // Count banned users
     long countByBanned(boolean banned);
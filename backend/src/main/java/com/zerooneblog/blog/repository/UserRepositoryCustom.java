@@ -0,0 +1,13 @@
+package com.zerooneblog.blog.repository;
+
+import java.util.Optional;
+
+import com.zerooneblog.blog.model.User;
+
+public interface UserRepositoryCustom {
+    // Exact-match lookup through the email natural id, answered from the second-level cache when possible
+    Optional<User> findByEmail(String email);
+
+    // Moves the followed user's follower count and the subscriber's following count by delta
+    void adjustFollowCounts(Long userId, Long subscriberId, long delta);
+}
@@ -0,0 +1,47 @@
+package com.zerooneblog.blog.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zerooneblog.blog.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+
+    /**
+     * Updates the counts through the managed entities rather than a bulk update, which would make
+     * Hibernate drop the whole {@code users} cache region on every follow. Each row is re-read under
+     * a row lock, so concurrent follows and other instances' stale cache entries lose no increments;
+     * locking in id order keeps two users following each other from deadlocking.
+     */
+    @Override
+    @Transactional
+    public void adjustFollowCounts(Long userId, Long subscriberId, long delta) {
+        List<Long> ids = userId < subscriberId ? List.of(userId, subscriberId) : List.of(subscriberId, userId);
+        for (Long id : ids) {
+            User u = entityManager.find(User.class, id);
+            if (u == null) continue;
+            entityManager.refresh(u, LockModeType.PESSIMISTIC_WRITE);
+            if (id.equals(userId)) {
+                u.setFollowersCount(u.getFollowersCount() + delta);
+            } else {
+                u.setFollowingCount(u.getFollowingCount() + delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.zerooneblog.blog.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.blog.dto.response.StatsPointDto;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.ReportRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.util.AfterCommit;
+
+/**
+ * Live dashboard counters. The mutating code paths (register, ban/unban, post create/delete,
+ * hide/unhide, report create/status change, user deletion) adjust them directly, so the dashboard
+ * never counts rows.
+ * A periodic reconciliation against the database repairs drift (e.g. from bulk deletes or an
+ * update racing a reconcile), and a per-minute sample is kept for the last 24 hours.
+ */
+@Service
+public class AdminStatsService {
+    private static final Logger logger = Logger.getLogger(AdminStatsService.class.getName());
+    public static final int HISTORY_MINUTES = 24 * 60;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final ReportRepository reportRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalPosts = new AtomicLong();
+    private final AtomicLong pendingReports = new AtomicLong();
+    private final AtomicLong bannedUsers = new AtomicLong();
+    private final AtomicLong hiddenPosts = new AtomicLong();
+
+    // Ring buffer of per-minute samples; next is the slot the next sample goes into
+    private final StatsPointDto[] history = new StatsPointDto[HISTORY_MINUTES];
+    private int next;
+    private int filled;
+
+    public AdminStatsService(UserRepository userRepository, PostRepository postRepository, ReportRepository reportRepository) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.reportRepository = reportRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        // The first load starts from zero, which is not drift
+        load(false);
+        sample();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.stats.reconcile-interval-ms:300000}", initialDelayString = "${blog.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        load(true);
+    }
+
+    private void load(boolean reportDrift) {
+        try {
+            long users = userRepository.count();
+            long posts = postRepository.count();
+            long pending = reportRepository.countByStatus("PENDING");
+            long banned = userRepository.countByBanned(true);
+            long hidden = postRepository.countByHidden(true);
+            logDrift(reportDrift, "totalUsers", totalUsers.getAndSet(users), users);
+            logDrift(reportDrift, "totalPosts", totalPosts.getAndSet(posts), posts);
+            logDrift(reportDrift, "pendingReports", pendingReports.getAndSet(pending), pending);
+            logDrift(reportDrift, "bannedUsers", bannedUsers.getAndSet(banned), banned);
+            logDrift(reportDrift, "hiddenPosts", hiddenPosts.getAndSet(hidden), hidden);
+        } catch (Exception e) {
+            logger.severe("[AdminStatsService] reconcile() - Failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public synchronized void sample() {
+        history[next] = current(Instant.now().truncatedTo(ChronoUnit.MINUTES));
+        next = (next + 1) % HISTORY_MINUTES;
+        filled = Math.min(filled + 1, HISTORY_MINUTES);
+    }
+
+    public Map<String, Object> snapshot() {
+        return Map.of(
+            "totalUsers", totalUsers.get(),
+            "totalPosts", totalPosts.get(),
+            "pendingReports", pendingReports.get(),
+            "bannedUsers", bannedUsers.get(),
+            "hiddenPosts", hiddenPosts.get()
+        );
+    }
+
+    /** Samples from the last {@code minutes} minutes, oldest first. */
+    public synchronized List<StatsPointDto> history(int minutes) {
+        int count = Math.max(0, Math.min(minutes, filled));
+        List<StatsPointDto> points = new ArrayList<>(count);
+        for (int i = count; i > 0; i--) {
+            points.add(history[Math.floorMod(next - i, HISTORY_MINUTES)]);
+        }
+        return points;
+    }
+
+    public void userRegistered() {
+        adjust(totalUsers, 1);
+    }
+
+    public void userDeleted(boolean wasBanned) {
+        adjust(totalUsers, -1);
+        if (wasBanned) adjust(bannedUsers, -1);
+    }
+
+    public void banChanged(boolean wasBanned, boolean banned) {
+        if (wasBanned != banned) adjust(bannedUsers, banned ? 1 : -1);
+    }
+
+    public void postCreated() {
+        adjust(totalPosts, 1);
+    }
+
+    public void postDeleted(boolean wasHidden) {
+        adjust(totalPosts, -1);
+        if (wasHidden) adjust(hiddenPosts, -1);
+    }
+
+    public void hiddenChanged(boolean wasHidden, boolean hidden) {
+        if (wasHidden != hidden) adjust(hiddenPosts, hidden ? 1 : -1);
+    }
+
+    public void postsHidden(long count) {
+        adjust(hiddenPosts, count);
+    }
+
+    public void postsDeleted(long count, long hidden) {
+        adjust(totalPosts, -count);
+        adjust(hiddenPosts, -hidden);
+    }
+
+    public void reportCreated() {
+        adjust(pendingReports, 1);
+    }
+
+    public void reportDeleted(String status) {
+        if ("PENDING".equals(status)) adjust(pendingReports, -1);
+    }
+
+    public void pendingReportsDeleted(long count) {
+        adjust(pendingReports, -count);
+    }
+
+    public void reportStatusChanged(String oldStatus, String newStatus) {
+        reportStatusChanged(oldStatus, newStatus, 1);
+    }
+
+    public void reportStatusChanged(String oldStatus, String newStatus, long count) {
+        boolean wasPending = "PENDING".equals(oldStatus);
+        boolean pending = "PENDING".equals(newStatus);
+        if (wasPending != pending && count > 0) adjust(pendingReports, pending ? count : -count);
+    }
+
+    // Deltas only land once the write that caused them has committed
+    private static void adjust(AtomicLong counter, long delta) {
+        AfterCommit.run(() -> counter.addAndGet(delta));
+    }
+
+    private StatsPointDto current(Instant at) {
+        return new StatsPointDto(at, totalUsers.get(), totalPosts.get(), pendingReports.get(), bannedUsers.get(), hiddenPosts.get());
+    }
+
+    private static void logDrift(boolean report, String name, long live, long actual) {
+        if (report && live != actual) {
+            logger.warning("[AdminStatsService] reconcile() - " + name + " drifted: " + live + " -> " + actual);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.zerooneblog.blog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.zerooneblog.blog.dto.response.AuthResponse;
+import com.zerooneblog.blog.mapper.EntityMapper;
+import com.zerooneblog.blog.model.RefreshToken;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.RefreshTokenRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.util.JwtUtil;
+
+/**
+ * Issues short-lived access tokens together with rotating refresh tokens.
+ *
+ * Access tokens are verified by signature alone, so the user's ban flag and token version are
+ * only looked at here, when a refresh token is exchanged. Each refresh token works once. A token
+ * that was rotated within {@link #CONCURRENT_REFRESH_GRACE} is answered with 409, which tells the
+ * client another tab refreshed first and it should retry with the token that tab stored. Showing
+ * up again after that means it was copied, and every session of that user is revoked.
+ */
+@Service
+public class AuthTokenService {
+    private static final Logger logger = Logger.getLogger(AuthTokenService.class.getName());
+    // Two tabs refreshing with the same token at once is not theft
+    private static final Duration CONCURRENT_REFRESH_GRACE = Duration.ofSeconds(30);
+    // How long rotated tokens are kept around to detect reuse
+    private static final Duration REUSE_DETECTION_WINDOW = Duration.ofDays(1);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationTable tokenRevocationTable;
+    private final JwtUtil jwtUtil;
+    private final Duration refreshTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public AuthTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                            TokenRevocationTable tokenRevocationTable, JwtUtil jwtUtil,
+                            @Value("${blog.jwt.refresh-ttl-days:14}") long refreshTtlDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenRevocationTable = tokenRevocationTable;
+        this.jwtUtil = jwtUtil;
+        this.refreshTtl = Duration.ofDays(refreshTtlDays);
+    }
+
+    /** A new session for {@code user}: an access token and a fresh refresh token. */
+    @Transactional
+    public AuthResponse issue(User user) {
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole(), user.getTokenVersion());
+        String refreshToken = newRefreshToken(user);
+        return new AuthResponse(accessToken, EntityMapper.toDto(user), refreshToken, jwtUtil.getAccessTtlSeconds());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh pair, re-checking the account.
+     * Rejections still commit, so a detected reuse keeps its revocation.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthResponse refresh(String rawToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> invalid("Invalid refresh token"));
+        Instant now = Instant.now();
+
+        if (stored.getRotatedAt() != null || refreshTokenRepository.markRotated(stored.getId(), now) == 0) {
+            Instant rotatedAt = stored.getRotatedAt() != null ? stored.getRotatedAt() : now;
+            if (!rotatedAt.isBefore(now.minus(CONCURRENT_REFRESH_GRACE))) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Refresh token was just rotated");
+            }
+            int revoked = refreshTokenRepository.deleteByUserId(stored.getUserId());
+            logger.warning("[AuthTokenService] refresh() - Reuse of rotated refresh token for user " + stored.getUserId()
+                    + ", revoked " + revoked + " sessions");
+            throw invalid("Refresh token already used");
+        }
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw invalid("Refresh token expired");
+        }
+
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> invalid("Invalid refresh token"));
+        if (user.isBanned()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Your account has been banned");
+        }
+        long currentVersion = user.getTokenVersion() != null ? user.getTokenVersion() : 0L;
+        if (stored.getTokenVersion() < currentVersion) {
+            throw invalid("Session expired. Please log in again.");
+        }
+        return issue(user);
+    }
+
+    @Transactional
+    public void logout(String rawToken) {
+        refreshTokenRepository.deleteByTokenHash(hash(rawToken));
+    }
+
+    /**
+     * Ends every session of {@code user}: drops their refresh tokens and makes the JWT filter
+     * reject access tokens issued before the user's current token version, or all of them while
+     * the user is banned. Call after saving a new token version or ban flag.
+     */
+    @Transactional
+    public void revokeAll(User user) {
+        refreshTokenRepository.deleteByUserId(user.getId());
+        tokenRevocationTable.update(user);
+    }
+
+    @Scheduled(cron = "${blog.jwt.refresh-purge-cron:0 15 4 * * *}")
+    public void purgeStale() {
+        Instant now = Instant.now();
+        int purged = refreshTokenRepository.deleteStale(now, now.minus(REUSE_DETECTION_WINDOW));
+        logger.info("[AuthTokenService] purgeStale() - Removed " + purged + " expired or rotated refresh tokens");
+    }
+
+    private String newRefreshToken(User user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(user.getId());
+        token.setTokenHash(hash(raw));
+        token.setTokenVersion(user.getTokenVersion() != null ? user.getTokenVersion() : 0L);
+        token.setExpiresAt(Instant.now().plus(refreshTtl));
+        refreshTokenRepository.save(token);
+        return raw;
+    }
+
+    private static ResponseStatusException invalid(String reason) {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, reason);
+    }
+
+    // Refresh tokens are 256 random bits, so an unsalted fast hash is enough to make a leaked table useless
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
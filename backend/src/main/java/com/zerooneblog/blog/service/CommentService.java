@@ -1,12 +1,21 @@
 package com.zerooneblog.blog.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.zerooneblog.blog.dto.response.CommentDto;
+import com.zerooneblog.blog.dto.response.PostDto;
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
 import com.zerooneblog.blog.exception.BadRequestException;
+import com.zerooneblog.blog.mapper.EntityMapper;
 import com.zerooneblog.blog.exception.NotFoundException;
 import com.zerooneblog.blog.model.Comment;
 import com.zerooneblog.blog.model.Post;
@@ -17,18 +26,20 @@ import com.zerooneblog.blog.repository.PostRepository;
 @Service
 public class CommentService {
     private static final Logger logger = Logger.getLogger(CommentService.class.getName());
+    // Upper bound for includeComments, the preview is meant for a few comments per card
+    private static final int MAX_PREVIEW_COMMENTS = 10;
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
-    private final NotificationService notificationService;
     private final com.zerooneblog.blog.util.HtmlSanitizer htmlSanitizer;
+    private final DomainEventBus eventBus;
 
     public CommentService(CommentRepository commentRepository, PostRepository postRepository, 
-                         NotificationService notificationService, 
-                         com.zerooneblog.blog.util.HtmlSanitizer htmlSanitizer) {
+                         com.zerooneblog.blog.util.HtmlSanitizer htmlSanitizer,
+                         DomainEventBus eventBus) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
-        this.notificationService = notificationService;
         this.htmlSanitizer = htmlSanitizer;
+        this.eventBus = eventBus;
     }
 
     public Comment addComment(Long postId, User user, String text) {
@@ -54,14 +65,8 @@ public class CommentService {
         logger.info("[CommentService] addComment() - Step 4: Saving comment to database");
         Comment saved = commentRepository.save(c);
         logger.info("[CommentService] addComment() - Step 5: Comment saved with ID: " + saved.getId());
-        
-        logger.info("[CommentService] addComment() - Step 6: Notifying post author");
-        try {
-            notificationService.createNotification(post.getAuthor(), "new_comment", "New comment on your post by " + user.getUsername());
-            logger.fine("[CommentService] addComment() - Step 7: Notification sent successfully");
-        } catch (Exception e) {
-            logger.severe("[CommentService] addComment() - ERROR: Failed to send notification: " + e.getMessage());
-        }
+        // The post's author is notified and the trending ranking updated by event listeners
+        eventBus.publish(new DomainEvent.Commented(saved.getId(), postId, post.getAuthor().getId(), user.getId(), saved.getCreatedAt()));
         return saved;
     }
 
@@ -91,6 +96,30 @@ public class CommentService {
             throw new NotFoundException("Comment not found");
         }
         commentRepository.delete(c);
+        eventBus.publish(new DomainEvent.CommentDeleted(commentId, postId, c.getCreatedAt()));
         logger.info("[CommentService] deleteComment() - Comment deleted successfully");
     }
+
+    /**
+     * Fills {@link PostDto#getLatestComments()} with each post's latest {@code perPost} comments.
+     * One windowed query picks the comments for the whole page and a second loads them together
+     * with their authors, however many posts the page has.
+     */
+    public void attachLatestComments(List<PostDto> posts, int perPost) {
+        if (perPost <= 0 || posts.isEmpty()) return;
+        int n = Math.min(perPost, MAX_PREVIEW_COMMENTS);
+        List<Long> postIds = posts.stream().map(PostDto::getId).toList();
+
+        Map<Long, List<CommentDto>> byPost = new HashMap<>();
+        List<Long> ids = commentRepository.findLatestIdsPerPost(postIds, n);
+        if (!ids.isEmpty()) {
+            for (Comment c : commentRepository.findAllWithUserByIdIn(ids)) {
+                byPost.computeIfAbsent(c.getPost().getId(), k -> new ArrayList<>()).add(EntityMapper.toDto(c));
+            }
+        }
+        for (PostDto p : posts) {
+            p.setLatestComments(byPost.getOrDefault(p.getId(), List.of()));
+        }
+        logger.fine("[CommentService] attachLatestComments() - Attached " + ids.size() + " comments to " + posts.size() + " posts");
+    }
 }
@@ -0,0 +1,304 @@
+package com.zerooneblog.blog.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.blog.repository.SubscriptionRepository;
+import com.zerooneblog.blog.util.AfterCommit;
+
+/**
+ * In-process copy of the follow graph held in {@code subscriptions}, so is-following checks,
+ * degrees and neighbour lists never go to the database.
+ *
+ * Both directions are kept as a sorted {@code long[]} per user inside an open-addressing table
+ * keyed by the primitive user id, so lookups are a hash probe plus a binary search with no boxing.
+ * Memory is 8 bytes per edge per direction once loaded (the bulk load trims every array) plus
+ * roughly 50 bytes per user for the table slots and array headers of both directions; incremental
+ * inserts may leave up to 50% slack in a user's array. Measured: 1M edges over 200k users is about
+ * 37 MB (FollowGraphIndexBenchmarkTest, run with -Dbenchmark=true).
+ *
+ * The index is filled before the web server starts, and writes are applied only after the
+ * surrounding transaction commits, so it never shows an edge the database rolled back.
+ */
+@Service
+public class FollowGraphIndex implements SmartInitializingSingleton {
+    private static final Logger logger = Logger.getLogger(FollowGraphIndex.class.getName());
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // userId -> ids of the users they follow
+    private final LongSetTable following = new LongSetTable();
+    // userId -> ids of their followers
+    private final LongSetTable followers = new LongSetTable();
+
+    public FollowGraphIndex(SubscriptionRepository subscriptionRepository) {
+        this.subscriptionRepository = subscriptionRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long edges = 0;
+        long afterId = 0;
+        lock.writeLock().lock();
+        try {
+            while (true) {
+                List<Object[]> batch = subscriptionRepository.findEdgesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    long userId = (Long) row[1];
+                    long subscriberId = (Long) row[2];
+                    following.append(subscriberId, userId);
+                    followers.append(userId, subscriberId);
+                    afterId = (Long) row[0];
+                }
+                edges += batch.size();
+                if (batch.size() < LOAD_BATCH_SIZE) break;
+            }
+            following.sortAll();
+            followers.sortAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("[FollowGraphIndex] load() - Indexed " + edges + " follow edges");
+    }
+
+    public boolean isFollowing(long subscriberId, long userId) {
+        lock.readLock().lock();
+        try {
+            return following.contains(subscriberId, userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followerCount(long userId) {
+        lock.readLock().lock();
+        try {
+            return followers.size(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followingCount(long userId) {
+        lock.readLock().lock();
+        try {
+            return following.size(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids of the users {@code userId} follows, ascending. The array is a copy. */
+    public long[] followingOf(long userId) {
+        lock.readLock().lock();
+        try {
+            return following.toArray(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids of the followers of {@code userId}, ascending. The array is a copy. */
+    public long[] followersOf(long userId) {
+        lock.readLock().lock();
+        try {
+            return followers.toArray(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addEdge(long userId, long subscriberId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                following.add(subscriberId, userId);
+                followers.add(userId, subscriberId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeEdge(long userId, long subscriberId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                following.remove(subscriberId, userId);
+                followers.remove(userId, subscriberId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Drops every edge touching {@code userId}, e.g. when the user is deleted. */
+    public void removeUser(long userId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (long followed : following.clear(userId)) {
+                    followers.remove(followed, userId);
+                }
+                for (long follower : followers.clear(userId)) {
+                    following.remove(follower, userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Open-addressing map from a primitive long key to a sorted primitive long set.
+     * Not thread-safe; {@link FollowGraphIndex} guards it with its read/write lock.
+     * Key 0 marks an empty slot (ids are generated from 1). Keys are never removed,
+     * a cleared user just keeps an empty set.
+     */
+    static final class LongSetTable {
+        private static final long[] EMPTY = new long[0];
+
+        private long[] keys = new long[16];
+        private long[][] sets = new long[16][];
+        private int[] sizes = new int[16];
+        private int occupied;
+
+        boolean contains(long key, long value) {
+            int s = slot(key);
+            return s >= 0 && Arrays.binarySearch(sets[s], 0, sizes[s], value) >= 0;
+        }
+
+        int size(long key) {
+            int s = slot(key);
+            return s < 0 ? 0 : sizes[s];
+        }
+
+        long[] toArray(long key) {
+            int s = slot(key);
+            return s < 0 ? EMPTY : Arrays.copyOf(sets[s], sizes[s]);
+        }
+
+        boolean add(long key, long value) {
+            int s = slotForInsert(key);
+            long[] set = sets[s];
+            int size = sizes[s];
+            int pos = Arrays.binarySearch(set, 0, size, value);
+            if (pos >= 0) return false;
+            int at = -pos - 1;
+            if (size == set.length) {
+                set = Arrays.copyOf(set, Math.max(4, size + (size >> 1)));
+                sets[s] = set;
+            }
+            System.arraycopy(set, at, set, at + 1, size - at);
+            set[at] = value;
+            sizes[s] = size + 1;
+            return true;
+        }
+
+        boolean remove(long key, long value) {
+            int s = slot(key);
+            if (s < 0) return false;
+            long[] set = sets[s];
+            int size = sizes[s];
+            int at = Arrays.binarySearch(set, 0, size, value);
+            if (at < 0) return false;
+            System.arraycopy(set, at + 1, set, at, size - at - 1);
+            sizes[s] = --size;
+            if (size == 0) {
+                sets[s] = EMPTY;
+            } else if (set.length > 16 && size < set.length >> 2) {
+                sets[s] = Arrays.copyOf(set, size << 1);
+            }
+            return true;
+        }
+
+        /** Empties the set for {@code key} and returns its previous members. */
+        long[] clear(long key) {
+            int s = slot(key);
+            if (s < 0) return EMPTY;
+            long[] values = Arrays.copyOf(sets[s], sizes[s]);
+            sets[s] = EMPTY;
+            sizes[s] = 0;
+            return values;
+        }
+
+        /** Bulk load: appends without ordering; call {@link #sortAll()} once done. */
+        void append(long key, long value) {
+            int s = slotForInsert(key);
+            long[] set = sets[s];
+            int size = sizes[s];
+            if (size == set.length) {
+                set = Arrays.copyOf(set, Math.max(4, size << 1));
+                sets[s] = set;
+            }
+            set[size] = value;
+            sizes[s] = size + 1;
+        }
+
+        /** Sorts, de-duplicates and trims every set after a bulk load. */
+        void sortAll() {
+            for (int s = 0; s < keys.length; s++) {
+                if (keys[s] == 0 || sizes[s] == 0) continue;
+                long[] set = sets[s];
+                int size = sizes[s];
+                Arrays.sort(set, 0, size);
+                int unique = 1;
+                for (int i = 1; i < size; i++) {
+                    if (set[i] != set[unique - 1]) set[unique++] = set[i];
+                }
+                sets[s] = unique == set.length ? set : Arrays.copyOf(set, unique);
+                sizes[s] = unique;
+            }
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            return -1;
+        }
+
+        private int slotForInsert(long key) {
+            int existing = slot(key);
+            if (existing >= 0) return existing;
+            if ((occupied + 1) * 4L > keys.length * 3L) rehash(keys.length << 1);
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+            sets[i] = EMPTY;
+            occupied++;
+            return i;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[][] oldSets = sets;
+            int[] oldSizes = sizes;
+            keys = new long[capacity];
+            sets = new long[capacity][];
+            sizes = new int[capacity];
+            int mask = capacity - 1;
+            for (int s = 0; s < oldKeys.length; s++) {
+                if (oldKeys[s] == 0) continue;
+                int i = hash(oldKeys[s]) & mask;
+                while (keys[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[s];
+                sets[i] = oldSets[s];
+                sizes[i] = oldSizes[s];
+            }
+        }
+
+        private static int hash(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+        }
+    }
+}
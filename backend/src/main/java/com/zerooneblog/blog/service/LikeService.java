@@ -1,55 +1,103 @@
 package com.zerooneblog.blog.service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
 import com.zerooneblog.blog.exception.BadRequestException;
 import com.zerooneblog.blog.exception.NotFoundException;
 import com.zerooneblog.blog.model.Post;
-import com.zerooneblog.blog.model.PostLike;
 import com.zerooneblog.blog.model.User;
 import com.zerooneblog.blog.repository.LikeRepository;
 import com.zerooneblog.blog.repository.PostRepository;
 
+/**
+ * Likes are written with single conditional statements: an insert that only fires when the post
+ * is visible and not yet liked, and a delete that only fires while the post is visible. The
+ * (post_id, user_id) unique key settles concurrent inserts, so a like exists at most once and
+ * every added or removed like is published as an event exactly once.
+ *
+ * These methods must not run inside a caller's transaction: a losing concurrent insert is
+ * detected through the unique-key violation, which would otherwise doom that transaction.
+ *
+ * With {@code blog.likes.write-behind=true} the changes are handed to {@link LikeWriteBehindBuffer}
+ * instead and written in batches a moment later.
+ */
 @Service
 public class LikeService {
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
+    private final DomainEventBus eventBus;
+    private final LikeWriteBehindBuffer writeBehind;
 
-    public LikeService(LikeRepository likeRepository, PostRepository postRepository) {
+    public LikeService(LikeRepository likeRepository, PostRepository postRepository, DomainEventBus eventBus,
+                       LikeWriteBehindBuffer writeBehind) {
         this.likeRepository = likeRepository;
         this.postRepository = postRepository;
+        this.eventBus = eventBus;
+        this.writeBehind = writeBehind;
     }
 
     public boolean toggleLike(Long postId, User user) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("Post not found"));
-        
-        // Reject likes on hidden posts (unless user is admin)
-        if (post.isHidden() && !"ADMIN".equals(user.getRole())) {
-            throw new BadRequestException("Cannot interact with hidden posts");
+        boolean admin = "ADMIN".equals(user.getRole());
+        if (writeBehind.isActive()) {
+            return writeBehind.record(postId, user.getId(), admin, null);
+        }
+        // Microseconds, to match what the column stores and what the trending replay reads back
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (insertIfAbsent(postId, user.getId(), admin, now)) {
+            eventBus.publish(new DomainEvent.Liked(postId, user.getId(), now));
+            return true; // liked
         }
-        
-        var existing = likeRepository.findByUserAndPost(user, post);
-        if (existing.isPresent()) {
-            likeRepository.delete(existing.get());
+        if (deleteExisting(postId, user.getId(), admin)) {
             return false; // unliked
         }
-        PostLike l = new PostLike();
-        l.setPost(post);
-        l.setUser(user);
-        likeRepository.save(l);
-        return true; // liked
+        // Neither statement matched: the post is missing or hidden, or a concurrent toggle won
+        checkVisible(postId, admin);
+        return false;
     }
 
     public void unlike(Long postId, User user) {
+        boolean admin = "ADMIN".equals(user.getRole());
+        if (writeBehind.isActive()) {
+            writeBehind.record(postId, user.getId(), admin, false);
+            return;
+        }
+        if (!deleteExisting(postId, user.getId(), admin)) {
+            checkVisible(postId, admin);
+        }
+    }
+
+    public long countLikes(Post post) { return likeRepository.countByPost(post) + writeBehind.pendingDelta(post.getId()); }
+
+    private boolean insertIfAbsent(Long postId, Long userId, boolean admin, Instant now) {
+        try {
+            return likeRepository.insertIfAbsent(postId, userId, admin, now) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request inserted the same like first
+            return false;
+        }
+    }
+
+    private boolean deleteExisting(Long postId, Long userId, boolean admin) {
+        List<Object[]> rows = likeRepository.findIdAndCreatedAt(postId, userId);
+        if (rows.isEmpty()) return false;
+        Object[] like = rows.get(0);
+        if (likeRepository.deleteIfVisible((Long) like[0], postId, admin) == 0) return false;
+        eventBus.publish(new DomainEvent.Unliked(postId, userId, (Instant) like[1]));
+        return true;
+    }
+
+    private void checkVisible(Long postId, boolean admin) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("Post not found"));
-        
-        // Reject unlikes on hidden posts (unless user is admin)
-        if (post.isHidden() && !"ADMIN".equals(user.getRole())) {
+        // Reject likes on hidden posts (unless user is admin)
+        if (post.isHidden() && !admin) {
             throw new BadRequestException("Cannot interact with hidden posts");
         }
-        
-        likeRepository.findByUserAndPost(user, post).ifPresent(likeRepository::delete);
     }
-
-    public long countLikes(Post post) { return likeRepository.countByPost(post); }
 }
@@ -0,0 +1,338 @@
+package com.zerooneblog.blog.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
+import com.zerooneblog.blog.exception.BadRequestException;
+import com.zerooneblog.blog.exception.NotFoundException;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.repository.LikeRepository;
+import com.zerooneblog.blog.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional write-behind mode for likes ({@code blog.likes.write-behind=true}). Like and unlike
+ * intents are recorded in memory per post and written to {@code post_likes} in batched statements
+ * every {@code blog.likes.flush-interval-ms}, one transaction per flush.
+ *
+ * Intents are coalesced per (post, user): only the difference from what the database holds is
+ * kept, so a like followed by an unlike before the next flush writes nothing. Reads go through
+ * {@link #knownLiked} and {@link #pendingDelta}, so a user sees their own like immediately.
+ *
+ * A flush first moves a post's pending intents to an in-flight set that reads still see. If the
+ * batch fails, each change is written on its own so one bad row cannot hold up the rest. A change
+ * the database rejects (e.g. its user was deleted) is dropped; one that fails otherwise stays in
+ * flight and is retried before that post's newer intents, whose baselines assume it applied, up to
+ * {@code blog.likes.max-attempts} times before it is dropped too. Likes and unlikes are published
+ * as events once written. Shutdown stops accepting intents and flushes what is left. Likes still
+ * pending when the process dies are lost, which is the trade-off of this mode; it is off by default.
+ */
+@Service
+public class LikeWriteBehindBuffer {
+    private static final Logger logger = Logger.getLogger(LikeWriteBehindBuffer.class.getName());
+    // How long a post's existence/hidden flag is trusted before it is re-read
+    private static final long VISIBILITY_TTL_MILLIS = 5_000;
+
+    private static final String INSERT_SQL = "insert into post_likes (id, post_id, user_id, created_at) "
+            + "select nextval('post_likes_seq'), p.id, ?, ? from posts p where p.id = ? and (p.hidden = false or ? = true) "
+            + "and not exists (select 1 from post_likes l where l.post_id = ? and l.user_id = ?)";
+    private static final String DELETE_SQL = "delete from post_likes where post_id = ? and user_id = ?";
+
+    /** The state of one user's like on one post that the database does not have yet. */
+    private static final class Intent {
+        // What the database holds (or will, once the in-flight batch lands)
+        final boolean baseline;
+        final Instant baselineCreatedAt;
+        boolean liked;
+        Instant likedAt;
+        boolean admin;
+        // Failed writes of this change so far
+        int attempts;
+
+        Intent(boolean baseline, Instant baselineCreatedAt) {
+            this.baseline = baseline;
+            this.baselineCreatedAt = baselineCreatedAt;
+            this.liked = baseline;
+        }
+    }
+
+    private static final class PostLog {
+        Map<Long, Intent> pending = new HashMap<>();
+        Map<Long, Intent> inflight = Map.of();
+        int pendingDelta;
+        int inflightDelta;
+        boolean retired;
+
+        Intent known(Long userId) {
+            Intent i = pending.get(userId);
+            return i != null ? i : inflight.get(userId);
+        }
+    }
+
+    private record Visibility(boolean exists, boolean hidden, long loadedAt) {}
+
+    private record Change(long postId, long userId, Intent intent) {}
+
+    private final LikeRepository likeRepository;
+    private final PostRepository postRepository;
+    private final DomainEventBus eventBus;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int maxAttempts;
+
+    private final Map<Long, PostLog> logs = new ConcurrentHashMap<>();
+    private final Map<Long, Visibility> visibility = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean accepting = true;
+
+    public LikeWriteBehindBuffer(LikeRepository likeRepository, PostRepository postRepository, DomainEventBus eventBus,
+                                 JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 @Value("${blog.likes.write-behind:false}") boolean enabled,
+                                 @Value("${blog.likes.max-attempts:20}") int maxAttempts) {
+        this.likeRepository = likeRepository;
+        this.postRepository = postRepository;
+        this.eventBus = eventBus;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /** Whether like writes should go through this buffer right now. */
+    public boolean isActive() {
+        return enabled && accepting;
+    }
+
+    /**
+     * Records a like change and returns whether the post is now liked by the user.
+     *
+     * @param target true to like, false to unlike, null to toggle
+     */
+    public boolean record(Long postId, Long userId, boolean admin, Boolean target) {
+        checkVisible(postId, admin);
+        while (true) {
+            PostLog log = logs.computeIfAbsent(postId, k -> new PostLog());
+            boolean needsBaseline;
+            synchronized (log) {
+                if (log.retired) continue;
+                needsBaseline = log.known(userId) == null;
+            }
+            // Read the database outside the lock; a racing request for the same user is settled below
+            Intent fromDb = needsBaseline ? loadBaseline(postId, userId) : null;
+            synchronized (log) {
+                if (log.retired) continue;
+                Intent intent = log.pending.get(userId);
+                if (intent == null) {
+                    Intent inflight = log.inflight.get(userId);
+                    intent = inflight != null ? new Intent(inflight.liked, inflight.likedAt)
+                            : fromDb != null ? fromDb : loadBaseline(postId, userId);
+                }
+                boolean next = target != null ? target : !intent.liked;
+                if (next != intent.liked) {
+                    intent.liked = next;
+                    intent.likedAt = next ? Instant.now().truncatedTo(ChronoUnit.MICROS) : null;
+                    intent.admin = admin;
+                    log.pendingDelta += next ? 1 : -1;
+                }
+                if (intent.liked == intent.baseline) {
+                    // Back to what the database has: nothing to write
+                    log.pending.remove(userId);
+                } else {
+                    log.pending.put(userId, intent);
+                }
+                return next;
+            }
+        }
+    }
+
+    /** The user's like state on the post if it is not yet in the database, otherwise null. */
+    public Boolean knownLiked(Long postId, Long userId) {
+        if (!enabled) return null;
+        PostLog log = logs.get(postId);
+        if (log == null) return null;
+        synchronized (log) {
+            Intent intent = log.known(userId);
+            return intent == null ? null : intent.liked;
+        }
+    }
+
+    /** Likes on the post that are recorded here but not yet counted by the database. */
+    public long pendingDelta(Long postId) {
+        if (!enabled) return 0;
+        PostLog log = logs.get(postId);
+        if (log == null) return 0;
+        synchronized (log) {
+            return log.pendingDelta + log.inflightDelta;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.likes.flush-interval-ms:250}")
+    public void flush() {
+        if (!enabled) return;
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        accepting = false;
+        flush();
+        int left = 0;
+        for (PostLog log : logs.values()) {
+            synchronized (log) {
+                left += log.pending.size() + log.inflight.size();
+            }
+        }
+        if (left > 0) {
+            logger.severe("[LikeWriteBehindBuffer] shutdown() - " + left + " like changes could not be written");
+        } else {
+            logger.info("[LikeWriteBehindBuffer] shutdown() - All like changes written");
+        }
+    }
+
+    private void doFlush() {
+        List<Change> changes = new ArrayList<>();
+        Map<Long, PostLog> flushing = new HashMap<>();
+        for (Map.Entry<Long, PostLog> e : logs.entrySet()) {
+            PostLog log = e.getValue();
+            synchronized (log) {
+                if (log.inflight.isEmpty()) {
+                    if (log.pending.isEmpty()) {
+                        log.retired = true;
+                        logs.remove(e.getKey(), log);
+                        continue;
+                    }
+                    log.inflight = log.pending;
+                    log.inflightDelta = log.pendingDelta;
+                    log.pending = new HashMap<>();
+                    log.pendingDelta = 0;
+                }
+                // else: retry of changes that failed last time
+                log.inflight.forEach((userId, intent) -> changes.add(new Change(e.getKey(), userId, intent)));
+                flushing.put(e.getKey(), log);
+            }
+        }
+        if (changes.isEmpty()) return;
+
+        // Deletes first, then inserts, as in the batch
+        List<Change> ordered = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Change c : changes) {
+            if (!c.intent().liked) {
+                ordered.add(c);
+                deletes.add(deleteArgs(c));
+            }
+        }
+        for (Change c : changes) {
+            if (c.intent().liked) {
+                ordered.add(c);
+                inserts.add(insertArgs(c));
+            }
+        }
+
+        int[] counts = new int[ordered.size()];
+        boolean[] settled = new boolean[ordered.size()];
+        try {
+            int[][] batch = tx.execute(s -> new int[][]{
+                    deletes.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(DELETE_SQL, deletes),
+                    inserts.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(INSERT_SQL, inserts)});
+            System.arraycopy(batch[0], 0, counts, 0, deletes.size());
+            System.arraycopy(batch[1], 0, counts, deletes.size(), inserts.size());
+            java.util.Arrays.fill(settled, true);
+        } catch (DataAccessException ex) {
+            logger.warning("[LikeWriteBehindBuffer] flush() - Writing " + ordered.size() + " like changes failed, retrying one by one: " + ex.getMessage());
+            for (int i = 0; i < ordered.size(); i++) {
+                Change c = ordered.get(i);
+                try {
+                    counts[i] = tx.execute(s -> c.intent().liked
+                            ? jdbcTemplate.update(INSERT_SQL, insertArgs(c))
+                            : jdbcTemplate.update(DELETE_SQL, deleteArgs(c)));
+                    settled[i] = true;
+                } catch (DataIntegrityViolationException rejected) {
+                    logger.warning("[LikeWriteBehindBuffer] flush() - Dropped like change of user " + c.userId() + " on post " + c.postId() + ": " + rejected.getMessage());
+                    settled[i] = true;
+                } catch (DataAccessException failed) {
+                    if (++c.intent().attempts >= maxAttempts) {
+                        logger.severe("[LikeWriteBehindBuffer] flush() - Dropped like change of user " + c.userId() + " on post " + c.postId()
+                                + " after " + maxAttempts + " attempts: " + failed.getMessage());
+                        settled[i] = true;
+                    }
+                }
+            }
+        }
+
+        int written = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            if (!settled[i]) continue;
+            Change c = ordered.get(i);
+            PostLog log = flushing.get(c.postId());
+            synchronized (log) {
+                log.inflight.remove(c.userId());
+                log.inflightDelta -= c.intent().liked ? 1 : -1;
+            }
+            if (counts[i] == 0) continue;
+            written++;
+            if (c.intent().liked) {
+                eventBus.publish(new DomainEvent.Liked(c.postId(), c.userId(), c.intent().likedAt));
+            } else if (c.intent().baselineCreatedAt != null) {
+                eventBus.publish(new DomainEvent.Unliked(c.postId(), c.userId(), c.intent().baselineCreatedAt));
+            }
+        }
+        logger.fine("[LikeWriteBehindBuffer] flush() - Wrote " + written + " of " + ordered.size() + " like changes");
+    }
+
+    private static Object[] insertArgs(Change c) {
+        return new Object[]{c.userId(), c.intent().likedAt, c.postId(), c.intent().admin, c.postId(), c.userId()};
+    }
+
+    private static Object[] deleteArgs(Change c) {
+        return new Object[]{c.postId(), c.userId()};
+    }
+
+    private Intent loadBaseline(Long postId, Long userId) {
+        List<Object[]> rows = likeRepository.findIdAndCreatedAt(postId, userId);
+        return rows.isEmpty() ? new Intent(false, null) : new Intent(true, (Instant) rows.get(0)[1]);
+    }
+
+    private void checkVisible(Long postId, boolean admin) {
+        long now = System.currentTimeMillis();
+        Visibility v = visibility.get(postId);
+        if (v == null || now - v.loadedAt() > VISIBILITY_TTL_MILLIS) {
+            Post post = postRepository.findById(postId).orElse(null);
+            v = new Visibility(post != null, post != null && post.isHidden(), now);
+            visibility.put(postId, v);
+            if (visibility.size() > 10_000) {
+                visibility.values().removeIf(old -> now - old.loadedAt() > VISIBILITY_TTL_MILLIS);
+            }
+        }
+        if (!v.exists()) throw new NotFoundException("Post not found");
+        // Reject likes on hidden posts (unless user is admin)
+        if (v.hidden() && !admin) throw new BadRequestException("Cannot interact with hidden posts");
+    }
+}
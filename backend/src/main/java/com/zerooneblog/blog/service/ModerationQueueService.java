@@ -0,0 +1,148 @@
+package com.zerooneblog.blog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zerooneblog.blog.dto.response.ReportGroupDto;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.ReportRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * Moderation queue of reports aggregated per target. A page costs one grouped query for the
+ * groups, one for their reasons and one batch load each for the target posts and users,
+ * however many reports each target has.
+ */
+@Service
+public class ModerationQueueService {
+    public static final int TOP_REASONS = 3;
+    private static final Set<String> STATUSES = Set.of("PENDING", "REVIEWED", "RESOLVED");
+
+    private final ReportRepository reportRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final AdminStatsService adminStatsService;
+
+    public ModerationQueueService(ReportRepository reportRepository, PostRepository postRepository,
+                                  UserRepository userRepository, AdminStatsService adminStatsService) {
+        this.reportRepository = reportRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.adminStatsService = adminStatsService;
+    }
+
+    // Groups are keyed the same way the queries group: (targetPostId, targetUserId)
+    private record TargetKey(Long postId, Long userId) {}
+
+    @Transactional(readOnly = true)
+    public Page<ReportGroupDto> queue(String status, Pageable pageable) {
+        validateStatus(status);
+        Page<Object[]> rows = reportRepository.findReportGroups(status, pageable);
+        if (rows.isEmpty()) return new PageImpl<>(List.of(), pageable, rows.getTotalElements());
+
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> reportedUserIds = new HashSet<>();
+        Set<Long> allUserIds = new HashSet<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) postIds.add((Long) row[0]);
+            else if (row[1] != null) reportedUserIds.add((Long) row[1]);
+            if (row[1] != null) allUserIds.add((Long) row[1]);
+        }
+
+        Map<Long, Post> posts = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(allUserIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<TargetKey, Map<String, Long>> reasons = topReasons(status, postIds, reportedUserIds);
+
+        List<ReportGroupDto> groups = new ArrayList<>(rows.getNumberOfElements());
+        for (Object[] row : rows) {
+            Long postId = (Long) row[0];
+            Long userId = (Long) row[1];
+            ReportGroupDto g = new ReportGroupDto();
+            g.setTargetType(postId != null ? "POST" : "USER");
+            g.setTargetPostId(postId);
+            g.setTargetUserId(userId);
+            g.setReportCount(((Number) row[2]).longValue());
+            g.setFirstReportedAt((Instant) row[3]);
+            g.setLastReportedAt((Instant) row[4]);
+            Post post = postId == null ? null : posts.get(postId);
+            if (post != null) {
+                g.setPostTitle(post.getTitle());
+                g.setPostHidden(post.isHidden());
+            }
+            User user = userId == null ? null : users.get(userId);
+            if (user != null) {
+                g.setUsername(user.getUsername());
+                g.setUserAvatar(user.getAvatarUrl() == null || user.getAvatarUrl().isBlank() ? null : user.getAvatarUrl());
+                g.setUserBanned(user.isBanned());
+            }
+            g.setTopReasons(reasons.getOrDefault(new TargetKey(postId, userId), Map.of()));
+            groups.add(g);
+        }
+        return new PageImpl<>(groups, pageable, rows.getTotalElements());
+    }
+
+    /**
+     * Moves every report of one target group from {@code fromStatus} to {@code toStatus}.
+     * Pass {@code postId} for a post group, or only {@code userId} for reports against a user.
+     * Returns the number of reports changed.
+     */
+    public int updateGroupStatus(Long postId, Long userId, String fromStatus, String toStatus) {
+        validateStatus(fromStatus);
+        validateStatus(toStatus);
+        if (postId == null && userId == null) {
+            throw new IllegalArgumentException("targetPostId or targetUserId is required");
+        }
+        if (fromStatus.equals(toStatus)) return 0;
+        int changed = postId != null
+                ? reportRepository.updateStatusForPost(postId, fromStatus, toStatus)
+                : reportRepository.updateStatusForUser(userId, fromStatus, toStatus);
+        adminStatsService.reportStatusChanged(fromStatus, toStatus, changed);
+        return changed;
+    }
+
+    private Map<TargetKey, Map<String, Long>> topReasons(String status, Set<Long> postIds, Set<Long> userIds) {
+        // Empty IN lists are not portable, so pad with an id that never exists
+        List<Object[]> rows = reportRepository.countReasonsForTargets(status,
+                postIds.isEmpty() ? List.of(-1L) : postIds, userIds.isEmpty() ? List.of(-1L) : userIds);
+        Map<TargetKey, List<Object[]>> byTarget = new HashMap<>();
+        for (Object[] row : rows) {
+            byTarget.computeIfAbsent(new TargetKey((Long) row[0], (Long) row[1]), k -> new ArrayList<>()).add(row);
+        }
+        Map<TargetKey, Map<String, Long>> result = new HashMap<>();
+        byTarget.forEach((key, reasonRows) -> {
+            reasonRows.sort((a, b) -> Long.compare(((Number) b[3]).longValue(), ((Number) a[3]).longValue()));
+            Map<String, Long> top = new LinkedHashMap<>();
+            for (Object[] r : reasonRows) {
+                if (top.size() == TOP_REASONS) break;
+                top.put(Objects.toString(r[2], ""), ((Number) r[3]).longValue());
+            }
+            result.put(key, top);
+        });
+        return result;
+    }
+
+    private static void validateStatus(String status) {
+        if (status == null || !STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Invalid status. Must be PENDING, REVIEWED, or RESOLVED");
+        }
+    }
+}
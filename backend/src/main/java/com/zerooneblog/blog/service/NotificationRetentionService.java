@@ -0,0 +1,65 @@
+package com.zerooneblog.blog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.blog.repository.NotificationRepository;
+
+/**
+ * Enforces the notification retention policy: read notifications older than
+ * {@code blog.notifications.read-retention-days} are deleted. The purge works through bounded id
+ * chunks, one short transaction each, and pauses between chunks so a large backlog is worked off
+ * without holding locks or saturating the database. Unread notifications are never purged here.
+ */
+@Service
+public class NotificationRetentionService {
+    private static final Logger logger = Logger.getLogger(NotificationRetentionService.class.getName());
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate tx;
+    private final Duration readRetention;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository, PlatformTransactionManager transactionManager,
+                                        @Value("${blog.notifications.read-retention-days:90}") long readRetentionDays,
+                                        @Value("${blog.notifications.purge-batch-size:500}") int batchSize,
+                                        @Value("${blog.notifications.purge-pause-ms:200}") long pauseMillis) {
+        this.notificationRepository = notificationRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readRetention = Duration.ofDays(readRetentionDays);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /** Deletes expired read notifications and returns how many were removed. */
+    @Scheduled(cron = "${blog.notifications.purge-cron:0 30 3 * * *}")
+    public int purgeExpired() {
+        Instant cutoff = Instant.now().minus(readRetention);
+        int purged = 0;
+        while (true) {
+            List<Long> ids = notificationRepository.findReadIdsBefore(cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) break;
+            tx.executeWithoutResult(s -> notificationRepository.deleteAllByIdInBatch(ids));
+            purged += ids.size();
+            if (ids.size() < batchSize) break;
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        logger.info("[NotificationRetentionService] purgeExpired() - Removed " + purged + " read notifications older than " + cutoff);
+        return purged;
+    }
+}
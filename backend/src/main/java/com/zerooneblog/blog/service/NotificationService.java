@@ -1,22 +1,43 @@
 package com.zerooneblog.blog.service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.zerooneblog.blog.model.Notification;
 import com.zerooneblog.blog.model.User;
 import com.zerooneblog.blog.repository.NotificationRepository;
 
+/**
+ * Stores and lists notifications. Comment and follower notifications coalesce: while a receiver
+ * has an unread notification of the same type and target from within the coalescing window
+ * ({@code blog.notifications.coalesce-window-minutes}), further events are merged into that row
+ * in place ("@a and 12 others ...") instead of each inserting a row of its own.
+ */
 @Service
 public class NotificationService {
     private static final Logger logger = Logger.getLogger(NotificationService.class.getName());
+    public static final String TYPE_NEW_COMMENT = "new_comment";
+    public static final String TYPE_NEW_SUBSCRIBER = "new_subscriber";
+    // How many actors a merged notification keeps by name
+    private static final int LATEST_ACTORS = 3;
+
     private final NotificationRepository notificationRepository;
+    private final Duration coalesceWindow;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               @Value("${blog.notifications.coalesce-window-minutes:60}") long coalesceWindowMinutes) {
         this.notificationRepository = notificationRepository;
+        this.coalesceWindow = Duration.ofMinutes(coalesceWindowMinutes);
     }
 
     public Notification createNotification(User receiver, String type, String content) {
@@ -40,11 +61,82 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Stores the same notification for each of {@code receivers} in one transaction, so the inserts
+     * go out in JDBC batches instead of one commit per receiver.
+     */
+    @Transactional
+    public List<Notification> createNotifications(List<User> receivers, String type, String content, Long actorId) {
+        List<Notification> list = new ArrayList<>(receivers.size());
+        for (User receiver : receivers) {
+            Notification n = new Notification();
+            n.setReceiver(receiver);
+            n.setType(type);
+            n.setContent(content);
+            n.setActorId(actorId);
+            list.add(n);
+        }
+        List<Notification> saved = notificationRepository.saveAll(list);
+        logger.info("[NotificationService] createNotifications() - Created " + saved.size() + " notifications of type " + type);
+        return saved;
+    }
+
+    /**
+     * Notifies {@code receiver} that {@code actor} did something of {@code type} to {@code targetId},
+     * merging into an open notification of the same type and target when there is one. The merged
+     * row counts each actor once as long as they are among its latest actors, and moves to the top
+     * of the list.
+     */
+    @Transactional
+    public Notification notifyCoalesced(User receiver, String type, Long targetId, User actor) {
+        Instant now = Instant.now();
+        List<Notification> open = notificationRepository.findCoalescable(receiver, type, targetId,
+                now.minus(coalesceWindow), PageRequest.of(0, 1));
+        Notification n;
+        List<String[]> actors;
+        if (open.isEmpty()) {
+            n = new Notification();
+            n.setReceiver(receiver);
+            n.setType(type);
+            n.setTargetId(targetId);
+            actors = new ArrayList<>();
+        } else {
+            n = open.get(0);
+            actors = parseActors(n.getLatestActors());
+            boolean alreadyCounted = actors.removeIf(a -> a[0].equals(actor.getId().toString()));
+            if (!alreadyCounted) n.setActorCount(n.getActorCount() + 1);
+            n.setCreatedAt(now);
+        }
+        actors.add(0, new String[]{actor.getId().toString(), actor.getUsername()});
+        if (actors.size() > LATEST_ACTORS) actors.subList(LATEST_ACTORS, actors.size()).clear();
+        n.setActorId(actor.getId());
+        n.setLatestActors(formatActors(actors));
+        n.setContent(describe(type, actor.getUsername(), n.getActorCount()));
+        Notification saved = notificationRepository.save(n);
+        logger.fine("[NotificationService] notifyCoalesced() - Notification " + saved.getId() + " for user " + receiver.getId()
+                + " now has " + saved.getActorCount() + " actors");
+        return saved;
+    }
+
+    /** Usernames of the notification's most recent actors, newest first. */
+    public static List<String> latestActorNames(Notification n) {
+        return parseActors(n.getLatestActors()).stream().map(a -> a[1]).toList();
+    }
+
     @org.springframework.transaction.annotation.Transactional
     public void deleteNotification(User receiver, String type, Long actorId) {
         logger.info("[NotificationService] deleteNotification() - Deleting notification for user: " + receiver.getUsername() + ", type: " + type + ", actorId: " + actorId);
         try {
-            notificationRepository.deleteByReceiverAndTypeAndActorId(receiver, type, actorId);
+            notificationRepository.deleteByReceiverAndTypeAndActorIdAndActorCount(receiver, type, actorId, 1);
+            // Take the actor back out of merged rows that still name them
+            for (Notification n : notificationRepository.findMergedWithActor(receiver, type, "%," + actorId + ":%")) {
+                List<String[]> actors = parseActors(n.getLatestActors());
+                actors.removeIf(a -> a[0].equals(actorId.toString()));
+                n.setActorCount(n.getActorCount() - 1);
+                n.setLatestActors(formatActors(actors));
+                n.setActorId(actors.isEmpty() ? null : Long.valueOf(actors.get(0)[0]));
+                n.setContent(describe(type, actors.isEmpty() ? null : actors.get(0)[1], n.getActorCount()));
+            }
             logger.info("[NotificationService] deleteNotification() - Notification deleted successfully");
         } catch (Exception e) {
             logger.severe("[NotificationService] deleteNotification() - Error deleting notification: " + e.getMessage());
@@ -113,4 +205,37 @@ public class NotificationService {
             throw e;
         }
     }
+
+    private static String describe(String type, String latestActor, int actorCount) {
+        String who;
+        if (latestActor == null) {
+            who = actorCount + (actorCount == 1 ? " person" : " people");
+        } else {
+            who = "@" + latestActor;
+            if (actorCount > 1) who += " and " + (actorCount - 1) + (actorCount == 2 ? " other" : " others");
+        }
+        return switch (type) {
+            case TYPE_NEW_COMMENT -> who + " commented on your post";
+            case TYPE_NEW_SUBSCRIBER -> who + " started following you.";
+            default -> who;
+        };
+    }
+
+    // Usernames are letters, digits and underscores, so ',' and ':' are safe separators
+    private static List<String[]> parseActors(String encoded) {
+        List<String[]> actors = new ArrayList<>();
+        if (encoded == null) return actors;
+        for (String entry : encoded.split(",")) {
+            int sep = entry.indexOf(':');
+            if (sep > 0) actors.add(new String[]{entry.substring(0, sep), entry.substring(sep + 1)});
+        }
+        return actors;
+    }
+
+    private static String formatActors(List<String[]> actors) {
+        if (actors.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder(",");
+        for (String[] a : actors) sb.append(a[0]).append(':').append(a[1]).append(',');
+        return sb.toString();
+    }
 }
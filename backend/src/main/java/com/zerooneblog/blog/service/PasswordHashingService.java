@@ -0,0 +1,145 @@
+package com.zerooneblog.blog.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool instead of request threads,
+ * so a burst of logins can use at most {@code blog.password.hash-threads} cores. Work beyond
+ * {@code blog.password.hash-queue} waiting jobs is refused with 503 straight away rather than
+ * piling up behind the CPU.
+ *
+ * Metrics: {@code blog.password.hash} (time spent hashing, tagged by operation),
+ * {@code blog.password.queue.wait} (time a job waited for a thread), {@code blog.password.rejected}
+ * and the {@code blog.password.queue.size} gauge.
+ */
+@Service
+public class PasswordHashingService {
+    private static final Logger logger = Logger.getLogger(PasswordHashingService.class.getName());
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, UserRepository userRepository, MeterRegistry meterRegistry,
+                                  @Value("${blog.password.hash-threads:0}") int threads,
+                                  @Value("${blog.password.hash-queue:64}") int queueSize,
+                                  @Value("${blog.password.hash-timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.timeoutMillis = timeoutMillis;
+        // Default: half the cores, leaving the rest for everything else
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("blog.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.verifyTimer = Timer.builder("blog.password.hash").tag("operation", "verify").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("blog.password.queue.wait").register(meterRegistry);
+        this.rejected = Counter.builder("blog.password.rejected").register(meterRegistry);
+        Gauge.builder("blog.password.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return call(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return call(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks a login attempt. On success, if the stored hash was made with a weaker cost than the
+     * encoder is configured with, queues a rehash; it is skipped when the pool is busy and retried
+     * on a later login.
+     */
+    public boolean verifyAndUpgrade(User user, String rawPassword) {
+        String stored = user.getPassword();
+        if (stored == null || !matches(rawPassword, stored)) return false;
+        if (passwordEncoder.upgradeEncoding(stored)) {
+            Long userId = user.getId();
+            try {
+                executor.execute(() -> {
+                    String upgraded = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                    if (userRepository.replacePasswordHash(userId, stored, upgraded) > 0) {
+                        logger.info("[PasswordHashingService] verifyAndUpgrade() - Rehashed password of user " + userId);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                logger.fine("[PasswordHashingService] verifyAndUpgrade() - Pool busy, rehash of user " + userId + " deferred");
+            }
+        }
+        return true;
+    }
+
+    private <T> T call(Timer timer, Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            logger.warning("[PasswordHashingService] call() - Hash queue full, rejecting request");
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw busy();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please try again in a moment");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
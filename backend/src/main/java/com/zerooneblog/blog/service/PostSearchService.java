@@ -0,0 +1,271 @@
+package com.zerooneblog.blog.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.zerooneblog.blog.exception.BadRequestException;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.util.HtmlSanitizer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Embedded Lucene index over post titles and the plain text of post descriptions.
+ * Kept up to date incrementally by the post write paths; {@link #reindexAll()} rebuilds it from the database.
+ * Searches read near-real-time from the writer, so a change is visible as soon as it is refreshed; the
+ * fsync of a Lucene commit only happens every {@code blog.search.commit-interval-ms} and on shutdown.
+ * A crash loses at most that interval of index updates, which a reindex restores.
+ */
+@Service
+public class PostSearchService {
+    private static final Logger logger = Logger.getLogger(PostSearchService.class.getName());
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ID_SORT = "id_sort";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_BODY = "body";
+    private static final String FIELD_HIDDEN = "hidden";
+    private static final int REINDEX_BATCH_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    // Results are ranked by relevance, ties broken by newest post id so cursors are stable
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE, new SortField(FIELD_ID_SORT, SortField.Type.LONG, true));
+
+    private final PostRepository postRepository;
+    private final HtmlSanitizer htmlSanitizer;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public PostSearchService(PostRepository postRepository, HtmlSanitizer htmlSanitizer,
+                             @Value("${blog.search.index-path:search-index}") String indexPath) throws IOException {
+        this.postRepository = postRepository;
+        this.htmlSanitizer = htmlSanitizer;
+        if (indexPath == null || indexPath.isBlank()) {
+            // No path configured (e.g. tests) - keep the index in memory
+            this.directory = new ByteBuffersDirectory();
+            logger.info("[PostSearchService] Using in-memory search index");
+        } else {
+            Path dir = Path.of(System.getProperty("user.dir")).resolve(indexPath);
+            Files.createDirectories(dir);
+            this.directory = FSDirectory.open(dir);
+            logger.info("[PostSearchService] Search index initialized at: " + dir.toAbsolutePath());
+        }
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Result page of a search: matching post ids in rank order plus the cursor for the next page (null when done).
+     */
+    public record Hits(List<Long> postIds, String nextCursor, long totalHits) {}
+
+    public void index(Post post) {
+        if (post == null || post.getId() == null) return;
+        try {
+            writer.updateDocument(new Term(FIELD_ID, post.getId().toString()), toDocument(post));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.severe("[PostSearchService] index() - Failed to index post " + post.getId() + ": " + e.getMessage());
+        }
+    }
+
+    public void remove(Long postId) {
+        if (postId == null) return;
+        try {
+            writer.deleteDocuments(new Term(FIELD_ID, postId.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.severe("[PostSearchService] remove() - Failed to remove post " + postId + ": " + e.getMessage());
+        }
+    }
+
+    public void removeAll(List<Long> postIds) {
+        if (postIds == null || postIds.isEmpty()) return;
+        try {
+            writer.deleteDocuments(postIds.stream().map(id -> new Term(FIELD_ID, id.toString())).toArray(Term[]::new));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.severe("[PostSearchService] removeAll() - Failed to remove " + postIds.size() + " posts: " + e.getMessage());
+        }
+    }
+
+    public Hits search(String queryText, String cursor, int size) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Query query = buildQuery(queryText.trim());
+        FieldDoc after = decodeCursor(cursor);
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopFieldDocs top;
+            if (after == null) {
+                top = searcher.search(query, limit, RELEVANCE, true);
+            } else {
+                // (score, id) identifies a single document, so the doc tie-breaker only has to exclude the cursor itself
+                int lastDoc = Math.max(0, searcher.getIndexReader().maxDoc() - 1);
+                top = searcher.searchAfter(new FieldDoc(lastDoc, after.score, after.fields), query, limit, RELEVANCE, true);
+            }
+
+            List<Long> ids = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc sd : top.scoreDocs) {
+                ids.add((Long) ((FieldDoc) sd).fields[1]);
+            }
+            String next = null;
+            if (top.scoreDocs.length == limit) {
+                next = encodeCursor((FieldDoc) top.scoreDocs[top.scoreDocs.length - 1]);
+            }
+            return new Hits(ids, next, top.totalHits.value);
+        } catch (IOException e) {
+            logger.severe("[PostSearchService] search() - Search failed: " + e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search is temporarily unavailable");
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    logger.warning("[PostSearchService] search() - Failed to release searcher: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the index and rebuild it from the posts table in batches.
+     * @return number of posts indexed
+     */
+    public synchronized long reindexAll() throws IOException {
+        logger.info("[PostSearchService] reindexAll() - Rebuilding search index");
+        writer.deleteAll();
+        long indexed = 0;
+        int page = 0;
+        Page<Post> batch;
+        do {
+            batch = postRepository.findAll(PageRequest.of(page++, REINDEX_BATCH_SIZE, Direction.ASC, "id"));
+            for (Post p : batch) {
+                writer.addDocument(toDocument(p));
+                indexed++;
+            }
+        } while (batch.hasNext());
+        writer.commit();
+        searcherManager.maybeRefresh();
+        logger.info("[PostSearchService] reindexAll() - Indexed " + indexed + " posts");
+        return indexed;
+    }
+
+    // Synchronized with reindexAll(), so a half-rebuilt index is never committed
+    @Scheduled(fixedDelayString = "${blog.search.commit-interval-ms:10000}")
+    public synchronized void commit() {
+        if (!writer.hasUncommittedChanges()) return;
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            logger.severe("[PostSearchService] commit() - Failed to commit the search index: " + e.getMessage());
+        }
+    }
+
+    public long indexedCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        // Commits whatever the last scheduled commit did not cover
+        writer.close();
+        directory.close();
+    }
+
+    private Document toDocument(Post p) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, p.getId().toString(), Field.Store.NO));
+        doc.add(new NumericDocValuesField(FIELD_ID_SORT, p.getId()));
+        doc.add(new StringField(FIELD_HIDDEN, Boolean.toString(p.isHidden()), Field.Store.NO));
+        if (p.getTitle() != null) {
+            doc.add(new TextField(FIELD_TITLE, p.getTitle(), Field.Store.NO));
+        }
+        String body = htmlSanitizer.toPlainText(p.getDescription());
+        if (body != null && !body.isEmpty()) {
+            doc.add(new TextField(FIELD_BODY, body, Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private Query buildQuery(String queryText) {
+        // SimpleQueryParser never throws on user input; title matches weigh more than body matches
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(FIELD_TITLE, 2.0f, FIELD_BODY, 1.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query text = parser.parse(queryText);
+        if (text == null) {
+            throw new BadRequestException("Search query is required");
+        }
+        return new BooleanQuery.Builder()
+                .add(text, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_HIDDEN, "false")), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private static String encodeCursor(FieldDoc last) {
+        String raw = last.fields[0] + ":" + last.fields[1];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FieldDoc decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            float score = Float.parseFloat(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new FieldDoc(0, score, new Object[] { score, id });
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
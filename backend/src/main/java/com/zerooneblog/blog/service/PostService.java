@@ -7,6 +7,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
 import com.zerooneblog.blog.exception.NotFoundException;
 import com.zerooneblog.blog.model.Post;
 import com.zerooneblog.blog.model.User;
@@ -16,20 +18,24 @@ import com.zerooneblog.blog.repository.PostRepository;
 public class PostService {
     private static final Logger logger = Logger.getLogger(PostService.class.getName());
     private final PostRepository postRepository;
-    private final NotificationService notificationService;
-    private final com.zerooneblog.blog.repository.SubscriptionRepository subscriptionRepository;
-    private final com.zerooneblog.blog.repository.UserRepository userRepository;
+    private final FollowGraphIndex followGraphIndex;
     private final com.zerooneblog.blog.util.HtmlSanitizer htmlSanitizer;
+    private final AdminStatsService adminStatsService;
+    private final DomainEventBus eventBus;
 
-    public PostService(PostRepository postRepository, NotificationService notificationService,
-                      com.zerooneblog.blog.repository.SubscriptionRepository subscriptionRepository,
-                      com.zerooneblog.blog.repository.UserRepository userRepository,
-                      com.zerooneblog.blog.util.HtmlSanitizer htmlSanitizer) {
+    public static final int EXCERPT_LENGTH = 300;
+    private static final int WORDS_PER_MINUTE = 200;
+
+    public PostService(PostRepository postRepository,
+                      FollowGraphIndex followGraphIndex,
+                      com.zerooneblog.blog.util.HtmlSanitizer htmlSanitizer,
+                      AdminStatsService adminStatsService,
+                      DomainEventBus eventBus) {
         this.postRepository = postRepository;
-        this.notificationService = notificationService;
-        this.subscriptionRepository = subscriptionRepository;
-        this.userRepository = userRepository;
+        this.followGraphIndex = followGraphIndex;
         this.htmlSanitizer = htmlSanitizer;
+        this.adminStatsService = adminStatsService;
+        this.eventBus = eventBus;
     }
 
     public Post create(Post p) {
@@ -47,44 +53,15 @@ public class PostService {
         if (p.getDescription() != null) {
             p.setDescription(htmlSanitizer.sanitizeRichText(p.getDescription()));
         }
+        applyTextStats(p);
         
         logger.info("[PostService] create() - Step 2: Saving post to database");
         Post saved = postRepository.save(p);
         logger.info("[PostService] create() - Step 3: Post saved with ID: " + saved.getId());
+        adminStatsService.postCreated();
         
-        // Notify subscribers (not the author themselves)
-        logger.info("[PostService] create() - Step 4: Notifying subscribers");
-        User author = saved.getAuthor();
-        
-        // Get all users who are subscribed to this author
-        java.util.List<com.zerooneblog.blog.model.Subscription> subscriptions = 
-            subscriptionRepository.findAll().stream()
-                .filter(s -> s.getUserId().equals(author.getId()))
-                .toList();
-        
-        logger.info("[PostService] create() - Subscriber count: " + subscriptions.size());
-        
-        if (!subscriptions.isEmpty()) {
-            String postTitle = saved.getTitle() != null && !saved.getTitle().isBlank() 
-                ? saved.getTitle() 
-                : "a new post";
-            
-            subscriptions.forEach(sub -> {
-                // Don't notify the author about their own post
-                if (!sub.getSubscriberId().equals(author.getId())) {
-                    try {
-                        User subscriber = userRepository.findById(sub.getSubscriberId()).orElse(null);
-                        if (subscriber != null) {
-                            notificationService.createNotification(subscriber, "new_post", 
-                                "@" + author.getUsername() + " posted: " + postTitle, author.getId());
-                        }
-                    } catch (Exception e) {
-                        logger.severe("[PostService] ERROR: Failed to notify user " + sub.getSubscriberId() + ": " + e.getMessage());
-                    }
-                }
-            });
-        }
-        logger.info("[PostService] create() - Step 5: All notifications sent");
+        // Followers are notified and the post indexed by event listeners, off the request thread
+        eventBus.publish(new DomainEvent.PostCreated(saved.getId(), saved.getAuthor().getId()));
         return saved;
     }
 
@@ -105,8 +82,10 @@ public class PostService {
         // Sanitize user input
         existing.setTitle(htmlSanitizer.sanitizePlainText(updated.getTitle()));
         existing.setDescription(htmlSanitizer.sanitizeRichText(updated.getDescription()));
+        applyTextStats(existing);
         existing.setMediaUrls(updated.getMediaUrls());
         Post saved = postRepository.save(existing);
+        eventBus.publish(new DomainEvent.PostEdited(saved.getId()));
         logger.info("[PostService] edit() - Post edited successfully");
         return saved;
     }
@@ -126,6 +105,8 @@ public class PostService {
             throw new NotFoundException("Post not found");
         }
         postRepository.delete(existing);
+        adminStatsService.postDeleted(existing.isHidden());
+        eventBus.publish(new DomainEvent.PostDeleted(id));
         logger.info("[PostService] delete() - Post deleted successfully");
     }
 
@@ -145,23 +126,50 @@ public class PostService {
         return p;
     }
 
+    /**
+     * Fills in the excerpt, word count and reading time of posts stored before they were derived on
+     * write. Goes through bulk updates so the posts' updatedAt is left alone. Returns how many posts
+     * were filled in; 0 once none are left.
+     */
+    @org.springframework.transaction.annotation.Transactional
+    public int backfillTextStats(int batchSize) {
+        java.util.List<Object[]> rows = postRepository.findDescriptionsWithoutTextStats(org.springframework.data.domain.PageRequest.of(0, batchSize));
+        for (Object[] row : rows) {
+            Post p = new Post();
+            p.setDescription((String) row[1]);
+            applyTextStats(p);
+            postRepository.updateTextStats((Long) row[0], p.getExcerpt(), p.getWordCount(), p.getReadingTimeMinutes());
+        }
+        return rows.size();
+    }
+
+    // The description must already be sanitized. The excerpt is cut at a word break and ends with "…" when shortened.
+    private void applyTextStats(Post p) {
+        String plain = htmlSanitizer.toPlainText(p.getDescription());
+        if (plain == null) plain = "";
+        String excerpt = plain;
+        if (plain.length() > EXCERPT_LENGTH) {
+            int cut = plain.lastIndexOf(' ', EXCERPT_LENGTH);
+            if (cut < EXCERPT_LENGTH / 2) cut = EXCERPT_LENGTH;
+            if (Character.isHighSurrogate(plain.charAt(cut - 1))) cut--;
+            excerpt = plain.substring(0, cut).stripTrailing() + "…";
+        }
+        int words = plain.isEmpty() ? 0 : plain.split(" ").length;
+        p.setExcerpt(excerpt);
+        p.setWordCount(words);
+        p.setReadingTimeMinutes(words == 0 ? 0 : (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    }
+
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public Page<Post> feedFor(User user, Pageable pageable) {
-        // Get all subscriptions where the current user is the subscriber
-        java.util.List<com.zerooneblog.blog.model.Subscription> subscriptions = 
-            subscriptionRepository.findBySubscriberId(user.getId());
+    public Page<com.zerooneblog.blog.dto.response.PostCardDto> feedFor(User user, Pageable pageable) {
+        // The user IDs that the current user is subscribed to, straight from the follow graph
+        long[] subscribedUserIds = followGraphIndex.followingOf(user.getId());
         
-        if (subscriptions.isEmpty()) {
+        if (subscribedUserIds.length == 0) {
             return Page.empty(pageable);
         }
         
-        // Extract the user IDs that the current user is subscribed to
-        java.util.List<Long> subscribedUserIds = subscriptions.stream()
-            .map(com.zerooneblog.blog.model.Subscription::getUserId)
-            .toList();
-        
-        // Get users from IDs
-        java.util.Set<User> subscribedUsers = new java.util.HashSet<>(userRepository.findAllById(subscribedUserIds));
-        return postRepository.findByAuthorInAndHiddenFalseOrderByCreatedAtDesc(subscribedUsers, pageable);
+        java.util.List<Long> authorIds = java.util.Arrays.stream(subscribedUserIds).boxed().toList();
+        return postRepository.findCardsByAuthorIdInAndHiddenFalse(authorIds, pageable);
     }
 }
@@ -18,13 +18,16 @@ public class ReportService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final HtmlSanitizer htmlSanitizer;
+    private final AdminStatsService adminStatsService;
 
     public ReportService(ReportRepository reportRepository, UserRepository userRepository, 
-                        PostRepository postRepository, HtmlSanitizer htmlSanitizer) {
+                        PostRepository postRepository, HtmlSanitizer htmlSanitizer,
+                        AdminStatsService adminStatsService) {
         this.reportRepository = reportRepository;
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.htmlSanitizer = htmlSanitizer;
+        this.adminStatsService = adminStatsService;
     }
 
     public Report reportUser(Long targetUserId, User reporter, String reason) {
@@ -45,7 +48,9 @@ public class ReportService {
         r.setReporter(reporter);
         r.setTargetUser(target);
         r.setReason(htmlSanitizer.sanitizePlainText(reason));
-        return reportRepository.save(r);
+        Report saved = reportRepository.save(r);
+        adminStatsService.reportCreated();
+        return saved;
     }
 
     public Report reportPost(Long postId, User reporter, String reason) {
@@ -67,6 +72,8 @@ public class ReportService {
         r.setTargetPost(post);
         r.setTargetUser(post.getAuthor()); // Also set the author as target for reference
         r.setReason(htmlSanitizer.sanitizePlainText(reason));
-        return reportRepository.save(r);
+        Report saved = reportRepository.save(r);
+        adminStatsService.reportCreated();
+        return saved;
     }
 }
@@ -0,0 +1,45 @@
+package com.zerooneblog.blog.service;
+
+import java.util.logging.Logger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * Repairs drift between the denormalized follower/following counts on {@code users}
+ * and the rows in {@code subscriptions}. Runs once at startup (which also backfills
+ * the columns on first deployment) and then on a schedule.
+ */
+@Service
+public class SubscriptionCountReconciler {
+    private static final Logger logger = Logger.getLogger(SubscriptionCountReconciler.class.getName());
+
+    private final UserRepository userRepository;
+
+    public SubscriptionCountReconciler(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${blog.subscriptions.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            int repaired = userRepository.reconcileSubscriptionCounts();
+            if (repaired > 0) {
+                logger.warning("[SubscriptionCountReconciler] reconcile() - Repaired subscription counts for " + repaired + " users");
+            } else {
+                logger.fine("[SubscriptionCountReconciler] reconcile() - Subscription counts are consistent");
+            }
+        } catch (Exception e) {
+            logger.severe("[SubscriptionCountReconciler] reconcile() - Failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.zerooneblog.blog.service;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * In-process copy of each user's {@code tokenVersion} and {@code banned} flag, so the JWT filter
+ * can reject revoked access tokens without touching the database.
+ *
+ * Only users that differ from a fresh account (version 0, not banned) are stored, packed into one
+ * primitive long per user in an open-addressing table: a few thousand banned or force-logged-out
+ * users cost a few dozen KB. The table is filled before the web server starts and updated by the
+ * ban, unban and role-change paths as they save. With several instances, a change made on another
+ * instance applies here at the user's next refresh, which re-reads the database.
+ */
+@Service
+public class TokenRevocationTable implements SmartInitializingSingleton {
+    private static final Logger logger = Logger.getLogger(TokenRevocationTable.class.getName());
+
+    private final UserRepository userRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongTable states = new LongLongTable();
+
+    public TokenRevocationTable(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int loaded = 0;
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : userRepository.findRevocationStates()) {
+                states.put((Long) row[0], pack(row[1] != null ? (Long) row[1] : 0L, (Boolean) row[2]));
+                loaded++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("[TokenRevocationTable] load() - Loaded revocation state for " + loaded + " users");
+    }
+
+    /** Records the current version and ban flag of {@code user}; call after saving a change to either. */
+    public void update(User user) {
+        long version = user.getTokenVersion() != null ? user.getTokenVersion() : 0L;
+        long state = pack(version, user.isBanned());
+        lock.writeLock().lock();
+        try {
+            states.put(user.getId(), state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isBanned(long userId) {
+        return (state(userId) & 1L) != 0;
+    }
+
+    /** Tokens carrying a version below this were revoked. */
+    public long minTokenVersion(long userId) {
+        return state(userId) >>> 1;
+    }
+
+    private long state(long userId) {
+        lock.readLock().lock();
+        try {
+            return states.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long pack(long tokenVersion, boolean banned) {
+        return (tokenVersion << 1) | (banned ? 1L : 0L);
+    }
+
+    /**
+     * Open-addressing map from a primitive long key to a primitive long value, 0 when absent.
+     * Not thread-safe; {@link TokenRevocationTable} guards it with its read/write lock.
+     * Key 0 marks an empty slot (ids are generated from 1).
+     */
+    static final class LongLongTable {
+        private long[] keys = new long[16];
+        private long[] values = new long[16];
+        private int occupied;
+
+        long get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return 0L;
+        }
+
+        void put(long key, long value) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            // A user back to the default state needs no slot
+            if (value == 0) return;
+            if ((occupied + 1) * 4L > keys.length * 3L) {
+                rehash(keys.length << 1);
+                put(key, value);
+                return;
+            }
+            keys[i] = key;
+            values[i] = value;
+            occupied++;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[capacity];
+            values = new long[capacity];
+            int mask = capacity - 1;
+            for (int s = 0; s < oldKeys.length; s++) {
+                if (oldKeys[s] == 0) continue;
+                int i = hash(oldKeys[s]) & mask;
+                while (keys[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[s];
+                values[i] = oldValues[s];
+            }
+        }
+
+        private static int hash(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+        }
+    }
+}
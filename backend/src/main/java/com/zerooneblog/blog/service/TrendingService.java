@@ -0,0 +1,207 @@
+package com.zerooneblog.blog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zerooneblog.blog.dto.response.PostCardDto;
+import com.zerooneblog.blog.repository.CommentRepository;
+import com.zerooneblog.blog.repository.LikeRepository;
+import com.zerooneblog.blog.repository.PostRepository;
+
+/**
+ * In-memory trending ranking. Every like and comment adds a weight that halves every
+ * {@code blog.trending.half-life-hours}. Scores are kept as logarithms relative to a fixed epoch:
+ * an event at time t contributes ln(weight) + lambda * (t - epoch), and a new event is merged with
+ * log-sum-exp. Older scores never need re-decaying because decay scales every post by the same
+ * factor, so the ordering of existing posts only changes when a post receives a new event.
+ *
+ * The best {@link #CAPACITY} posts are held in a bounded ordered set, updated in O(log n) per event.
+ * A post outside it keeps its score and re-enters once it overtakes the weakest member. An unlike
+ * or deleted comment lowers a member's score in place, so the set can briefly miss an outside post
+ * that now ranks just above it. That is acceptable for a trending list.
+ */
+@Service
+public class TrendingService {
+    private static final Logger logger = Logger.getLogger(TrendingService.class.getName());
+    public static final int MAX_PAGE_SIZE = 50;
+    static final int CAPACITY = 500;
+    static final double LIKE_WEIGHT = 1.0;
+    static final double COMMENT_WEIGHT = 2.0;
+    // Posts whose decayed score falls below this are forgotten by prune()
+    private static final double MIN_LIVE_SCORE = 0.05;
+
+    private record Ranked(long postId, double logScore) {}
+
+    private static final Comparator<Ranked> BEST_FIRST = Comparator
+            .comparingDouble(Ranked::logScore).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::postId).reversed());
+
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final Duration halfLife;
+    private final double lambdaPerSecond;
+    private final Instant epoch = Instant.now();
+
+    private final Map<Long, Double> logScores = new HashMap<>();
+    private final NavigableSet<Ranked> top = new TreeSet<>(BEST_FIRST);
+
+    public TrendingService(LikeRepository likeRepository, CommentRepository commentRepository, PostRepository postRepository,
+                           @Value("${blog.trending.half-life-hours:12}") double halfLifeHours) {
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.halfLife = Duration.ofSeconds((long) (halfLifeHours * 3600));
+        this.lambdaPerSecond = Math.log(2) / halfLife.toSeconds();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        // Anything older than ~7 half-lives carries under 1% of its weight
+        Instant since = Instant.now().minus(halfLife.multipliedBy(7));
+        int events = 0;
+        for (Object[] row : likeRepository.findActivitySince(since)) {
+            record((Long) row[0], LIKE_WEIGHT, (Instant) row[1]);
+            events++;
+        }
+        for (Object[] row : commentRepository.findActivitySince(since)) {
+            record((Long) row[0], COMMENT_WEIGHT, (Instant) row[1]);
+            events++;
+        }
+        logger.info("[TrendingService] load() - Replayed " + events + " likes/comments since " + since);
+    }
+
+    public void likeAdded(Long postId, Instant at) {
+        record(postId, LIKE_WEIGHT, at);
+    }
+
+    public void likeRemoved(Long postId, Instant likedAt) {
+        record(postId, -LIKE_WEIGHT, likedAt);
+    }
+
+    public void commentAdded(Long postId, Instant at) {
+        record(postId, COMMENT_WEIGHT, at);
+    }
+
+    public void commentRemoved(Long postId, Instant commentedAt) {
+        record(postId, -COMMENT_WEIGHT, commentedAt);
+    }
+
+    /**
+     * Adds (or, for a negative weight, withdraws) an event that happened at {@code at}.
+     * Withdrawing uses the original event time so it cancels exactly what was added.
+     */
+    synchronized void record(long postId, double weight, Instant at) {
+        if (weight == 0) return;
+        double event = Math.log(Math.abs(weight)) + lambdaPerSecond * secondsSinceEpoch(at == null ? Instant.now() : at);
+        Double current = logScores.get(postId);
+        double next;
+        if (weight > 0) {
+            next = current == null ? event : logSumExp(current, event);
+        } else {
+            if (current == null || event >= current - 1e-9) {
+                remove(postId);
+                return;
+            }
+            next = current + Math.log1p(-Math.exp(event - current));
+        }
+        if (current != null) {
+            top.remove(new Ranked(postId, current));
+        }
+        logScores.put(postId, next);
+        offer(new Ranked(postId, next));
+    }
+
+    public synchronized void remove(long postId) {
+        Double current = logScores.remove(postId);
+        if (current != null) {
+            top.remove(new Ranked(postId, current));
+        }
+    }
+
+    /** Up to {@code limit} post ids, best first. */
+    synchronized List<Long> topIds(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, top.size()));
+        for (Ranked r : top) {
+            if (ids.size() == limit) break;
+            ids.add(r.postId());
+        }
+        return ids;
+    }
+
+    /**
+     * The current trending posts as list cards, skipping hidden posts and posts by banned authors.
+     */
+    @Transactional(readOnly = true)
+    public List<PostCardDto> trending(int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Long> candidates = topIds(CAPACITY);
+        List<PostCardDto> result = new ArrayList<>(limit);
+        // Load candidates in small batches until the page is full; excluded posts are rare
+        for (int from = 0; from < candidates.size() && result.size() < limit; from += limit * 2) {
+            List<Long> batch = candidates.subList(from, Math.min(candidates.size(), from + limit * 2));
+            Map<Long, PostCardDto> byId = postRepository.findVisibleCardsByIdIn(batch).stream()
+                    .collect(Collectors.toMap(PostCardDto::getId, Function.identity()));
+            for (Long id : batch) {
+                PostCardDto p = byId.get(id);
+                if (p == null) continue;
+                result.add(p);
+                if (result.size() == limit) break;
+            }
+        }
+        return result;
+    }
+
+    /** Forgets posts whose score has decayed to noise, so the score map stays small. */
+    @Scheduled(fixedDelayString = "${blog.trending.prune-interval-ms:600000}")
+    public synchronized void prune() {
+        double threshold = Math.log(MIN_LIVE_SCORE) + lambdaPerSecond * secondsSinceEpoch(Instant.now());
+        int before = logScores.size();
+        logScores.entrySet().removeIf(e -> {
+            if (e.getValue() >= threshold) return false;
+            top.remove(new Ranked(e.getKey(), e.getValue()));
+            return true;
+        });
+        if (before != logScores.size()) {
+            logger.fine("[TrendingService] prune() - Dropped " + (before - logScores.size()) + " cold posts");
+        }
+    }
+
+    private void offer(Ranked r) {
+        if (top.size() < CAPACITY) {
+            top.add(r);
+            return;
+        }
+        if (BEST_FIRST.compare(r, top.last()) < 0) {
+            top.add(r);
+            top.pollLast();
+        }
+    }
+
+    private double secondsSinceEpoch(Instant at) {
+        return (at.toEpochMilli() - epoch.toEpochMilli()) / 1000.0;
+    }
+
+    private static double logSumExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+}
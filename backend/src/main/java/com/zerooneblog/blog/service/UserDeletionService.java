@@ -0,0 +1,276 @@
+package com.zerooneblog.blog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.blog.dto.response.JobStatusDto;
+import com.zerooneblog.blog.exception.NotFoundException;
+import com.zerooneblog.blog.repository.CommentRepository;
+import com.zerooneblog.blog.repository.LikeRepository;
+import com.zerooneblog.blog.repository.NotificationRepository;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.RefreshTokenRepository;
+import com.zerooneblog.blog.repository.ReportRepository;
+import com.zerooneblog.blog.repository.SubscriptionRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.util.AfterCommit;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes a user and everything hanging off them in the background. Each table is emptied with
+ * set-based {@code DELETE ... WHERE id IN (...)} statements over bounded id chunks, one short
+ * transaction per chunk, so a prolific user never holds locks or an HTTP request for long.
+ * Jobs run one at a time and are safe to re-run: every step only selects rows that still exist.
+ *
+ * The user's posts are hidden as soon as the job is queued, so no new likes or comments reach
+ * them. Rows that still slip in (another user's request already past the visibility check, a
+ * notification written by an event listener) are deleted in the same transaction as the posts or
+ * the user they point at, so those deletes never fail on a foreign key.
+ *
+ * Job state lives in memory. After a restart a half-deleted user stays banned and the admin can
+ * simply issue the delete again.
+ */
+@Service
+public class UserDeletionService {
+    private static final Logger logger = Logger.getLogger(UserDeletionService.class.getName());
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(24);
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final NotificationRepository notificationRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final ReportRepository reportRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final PostSearchService postSearchService;
+    private final TrendingService trendingService;
+    private final UsernameIndex usernameIndex;
+    private final FollowGraphIndex followGraphIndex;
+    private final AdminStatsService adminStatsService;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "user-deletion");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public UserDeletionService(UserRepository userRepository, PostRepository postRepository,
+                               NotificationRepository notificationRepository, SubscriptionRepository subscriptionRepository,
+                               ReportRepository reportRepository, RefreshTokenRepository refreshTokenRepository,
+                               LikeRepository likeRepository,
+                               CommentRepository commentRepository, PostSearchService postSearchService,
+                               TrendingService trendingService, UsernameIndex usernameIndex,
+                               FollowGraphIndex followGraphIndex, AdminStatsService adminStatsService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${blog.deletion.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.notificationRepository = notificationRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.reportRepository = reportRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.postSearchService = postSearchService;
+        this.trendingService = trendingService;
+        this.usernameIndex = usernameIndex;
+        this.followGraphIndex = followGraphIndex;
+        this.adminStatsService = adminStatsService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Hides the user's posts and queues deletion of {@code userId}. If a job for that user is
+     * already queued or running, its id is returned instead of starting a second one.
+     */
+    public String submit(Long userId, String requestedBy) {
+        evictFinishedJobs();
+        adminStatsService.postsHidden(postRepository.hideByAuthorId(userId));
+        for (Job existing : jobs.values()) {
+            if (existing.userId.equals(userId) && !existing.isFinished()) {
+                return existing.id;
+            }
+        }
+        Job job = new Job(UUID.randomUUID().toString(), userId);
+        jobs.put(job.id, job);
+        executor.submit(() -> run(job, requestedBy));
+        logger.info("[UserDeletionService] submit() - Queued deletion of user " + userId + " as job " + job.id);
+        return job.id;
+    }
+
+    public JobStatusDto status(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) throw new NotFoundException("Job not found");
+        return job.toDto();
+    }
+
+    private void run(Job job, String requestedBy) {
+        job.start();
+        Long userId = job.userId;
+        try {
+            deleteInChunks(job, "notifications",
+                    p -> notificationRepository.findIdsByReceiverId(userId, p), notificationRepository::deleteAllByIdInBatch);
+            deleteInChunks(job, "reports",
+                    p -> reportRepository.findIdsInvolvingUser(userId, p), this::deleteReports);
+            deleteInChunks(job, "likes",
+                    p -> likeRepository.findIdsInvolvingUser(userId, p), likeRepository::deleteAllByIdInBatch);
+            deleteInChunks(job, "comments",
+                    p -> commentRepository.findIdsInvolvingUser(userId, p), commentRepository::deleteAllByIdInBatch);
+
+            // Each chunk releases the follower/following counts its rows hold in the transaction that
+            // deletes them, so a re-run or a follow made during the job never moves a count twice or not at all
+            deleteInChunks(job, "subscriptions",
+                    p -> subscriptionRepository.findIdsInvolvingUser(userId, p), ids -> {
+                        userRepository.decrementFollowersFollowedBy(userId, ids);
+                        userRepository.decrementFollowingOf(userId, ids);
+                        subscriptionRepository.deleteAllByIdInBatch(ids);
+                    });
+            followGraphIndex.removeUser(userId);
+
+            deleteInChunks(job, "posts",
+                    p -> postRepository.findIdsByAuthorId(userId, p), ids -> {
+                        job.add("likes", likeRepository.deleteByPostIds(ids));
+                        job.add("comments", commentRepository.deleteByPostIds(ids));
+                        job.add("reports", deleteReports(reportRepository.findIdsByTargetPostIds(ids)));
+                        adminStatsService.postsDeleted(ids.size(), postRepository.countByIdInAndHiddenTrue(ids));
+                        postRepository.deleteAllByIdInBatch(ids);
+                        AfterCommit.run(() -> {
+                            postSearchService.removeAll(ids);
+                            ids.forEach(trendingService::remove);
+                        });
+                    });
+
+            job.step("user");
+            tx.executeWithoutResult(s -> {
+                job.add("notifications", notificationRepository.deleteByReceiverId(userId));
+                job.add("likes", likeRepository.deleteByUserId(userId));
+                job.add("comments", commentRepository.deleteByUserId(userId));
+                job.add("reports", deleteReports(reportRepository.findIdsInvolvingUser(userId, Pageable.unpaged())));
+                job.add("refresh_tokens", refreshTokenRepository.deleteByUserId(userId));
+                userRepository.deleteAllByIdInBatch(List.of(userId));
+                // Deletion always bans first
+                adminStatsService.userDeleted(true);
+            });
+            job.add("users", 1);
+            usernameIndex.remove(userId);
+
+            job.complete();
+            logger.info("[AUDIT] User deleted: id=" + userId + ", deletedBy=" + requestedBy + ", job=" + job.id
+                    + ", rows=" + job.toDto().getDeleted() + ", at=" + Instant.now());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            logger.severe("[UserDeletionService] run() - Job " + job.id + " for user " + userId + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Repeatedly selects up to {@code chunkSize} ids and deletes them in one statement, in its own
+     * transaction, until the selection comes back empty.
+     */
+    private void deleteInChunks(Job job, String table, Function<Pageable, List<Long>> nextIds, Consumer<List<Long>> delete) {
+        job.step(table);
+        Pageable firstChunk = PageRequest.of(0, chunkSize);
+        while (true) {
+            Integer deleted = tx.execute(s -> {
+                List<Long> ids = nextIds.apply(firstChunk);
+                if (!ids.isEmpty()) delete.accept(ids);
+                return ids.size();
+            });
+            if (deleted == null || deleted == 0) return;
+            job.add(table, deleted);
+            if (deleted < chunkSize) return;
+        }
+    }
+
+    // Deletes reports by id, taking the pending ones off the dashboard counter once committed
+    private int deleteReports(List<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        adminStatsService.pendingReportsDeleted(reportRepository.countByIdInAndStatus(ids, "PENDING"));
+        reportRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(j -> j.isFinished() && j.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Job {
+        final String id;
+        final Long userId;
+        final Instant createdAt = Instant.now();
+        final Map<String, Long> deleted = new LinkedHashMap<>();
+        String status = "QUEUED";
+        String currentStep;
+        Instant startedAt;
+        Instant finishedAt;
+        String error;
+
+        Job(String id, Long userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        synchronized void start() {
+            status = "RUNNING";
+            startedAt = Instant.now();
+        }
+
+        synchronized void step(String name) {
+            currentStep = name;
+        }
+
+        synchronized void add(String table, long rows) {
+            deleted.merge(table, rows, Long::sum);
+        }
+
+        synchronized void complete() {
+            status = "COMPLETED";
+            currentStep = null;
+            finishedAt = Instant.now();
+        }
+
+        synchronized void fail(String message) {
+            status = "FAILED";
+            error = message;
+            finishedAt = Instant.now();
+        }
+
+        synchronized boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        synchronized JobStatusDto toDto() {
+            return new JobStatusDto(id, "USER_DELETION", userId, status, currentStep, new LinkedHashMap<>(deleted),
+                    createdAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.zerooneblog.blog.service;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.blog.dto.response.UserDto;
+import com.zerooneblog.blog.mapper.EntityMapper;
+import com.zerooneblog.blog.model.User;
+
+/**
+ * Renders users as {@link UserDto} with the viewer's subscription flag. Follower/following counts
+ * come from the denormalized columns on {@link User} and the flag from the in-memory follow graph,
+ * so a page of users costs no queries beyond loading the users themselves.
+ */
+@Service
+public class UserEnrichmentService {
+    private final FollowGraphIndex followGraphIndex;
+
+    public UserEnrichmentService(FollowGraphIndex followGraphIndex) {
+        this.followGraphIndex = followGraphIndex;
+    }
+
+    public UserDto toDto(User user, User viewer) {
+        return toDtos(List.of(user), viewer).get(0);
+    }
+
+    public List<UserDto> toDtos(List<User> users, User viewer) {
+        return users.stream().map(u -> {
+            UserDto dto = EntityMapper.toDto(u);
+            dto.setSubscriberIds(new HashSet<>());
+            dto.setSubscriptionIds(new HashSet<>());
+            dto.setSubscribed(viewer != null && followGraphIndex.isFollowing(viewer.getId(), u.getId()));
+            return dto;
+        }).toList();
+    }
+}
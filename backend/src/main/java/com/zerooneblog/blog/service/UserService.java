@@ -2,11 +2,12 @@ package com.zerooneblog.blog.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.zerooneblog.blog.dto.request.UpdateUserRequest;
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
 import com.zerooneblog.blog.exception.NotFoundException;
 import com.zerooneblog.blog.model.Post;
 import com.zerooneblog.blog.model.Subscription;
@@ -21,19 +22,24 @@ public class UserService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final SubscriptionRepository subscriptionRepository;
-    private final NotificationService notificationService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final HtmlSanitizer htmlSanitizer;
+    private final UsernameIndex usernameIndex;
+    private final FollowGraphIndex followGraphIndex;
+    private final DomainEventBus eventBus;
 
     public UserService(UserRepository userRepository, PostRepository postRepository, 
-                      SubscriptionRepository subscriptionRepository, NotificationService notificationService, 
-                      PasswordEncoder passwordEncoder, HtmlSanitizer htmlSanitizer) {
+                      SubscriptionRepository subscriptionRepository, 
+                      PasswordHashingService passwordHashingService, HtmlSanitizer htmlSanitizer, UsernameIndex usernameIndex,
+                      FollowGraphIndex followGraphIndex, DomainEventBus eventBus) {
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.subscriptionRepository = subscriptionRepository;
-        this.notificationService = notificationService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.htmlSanitizer = htmlSanitizer;
+        this.usernameIndex = usernameIndex;
+        this.followGraphIndex = followGraphIndex;
+        this.eventBus = eventBus;
     }
 
     @Transactional(readOnly = true)
@@ -58,48 +64,43 @@ public class UserService {
         }
         
         // Verify both users exist
-        User targetUser = findById(userId);
-        User subscriber = findById(subscriberId);
+        findById(userId);
+        findById(subscriberId);
         
         // Create subscription
         Subscription subscription = new Subscription();
         subscription.setUserId(userId);
         subscription.setSubscriberId(subscriberId);
         subscriptionRepository.save(subscription);
+        userRepository.adjustFollowCounts(userId, subscriberId, 1);
+        followGraphIndex.addEdge(userId, subscriberId);
         
-        // Send notification with actorId
-        try {
-            notificationService.createNotification(targetUser, "new_subscriber", 
-                "@" + subscriber.getUsername() + " started following you.", subscriberId);
-        } catch (Exception e) {
-            // Don't block subscribe on notification failure
-        }
+        // The followed user is notified by an event listener after commit
+        eventBus.publish(new DomainEvent.Followed(userId, subscriberId));
     }
 
     @Transactional
     public void unsubscribe(Long userId, Long subscriberId) {
-        // Delete the subscription
-        subscriptionRepository.deleteByUserIdAndSubscriberId(userId, subscriberId);
-        
-        // Remove the follow notification
-        try {
-            User targetUser = findById(userId);
-            notificationService.deleteNotification(targetUser, "new_subscriber", subscriberId);
-        } catch (Exception e) {
-            // Don't block unsubscribe on notification failure
+        // Delete the subscription - counts only move if a row was actually removed
+        if (subscriptionRepository.deleteByUserIdAndSubscriberId(userId, subscriberId) > 0) {
+            userRepository.adjustFollowCounts(userId, subscriberId, -1);
+            followGraphIndex.removeEdge(userId, subscriberId);
         }
+        
+        // The follow notification is removed by an event listener after commit
+        eventBus.publish(new DomainEvent.Unfollowed(userId, subscriberId));
     }
     
     public long getSubscriberCount(Long userId) {
-        return subscriptionRepository.countByUserId(userId);
+        return findById(userId).getFollowersCount();
     }
     
     public long getSubscriptionsCount(Long userId) {
-        return subscriptionRepository.countBySubscriberId(userId);
+        return findById(userId).getFollowingCount();
     }
     
     public boolean isSubscribed(Long userId, Long subscriberId) {
-        return subscriptionRepository.existsByUserIdAndSubscriberId(userId, subscriberId);
+        return followGraphIndex.isFollowing(subscriberId, userId);
     }
 
     public User findByUsername(String username) {
@@ -118,14 +119,23 @@ public class UserService {
     @Transactional(readOnly = true)
     public Page<User> listAll(Pageable pageable, String search) {
         if (search != null && !search.isBlank()) {
-            return userRepository.findByUsernameContainingIgnoreCase(search.trim(), pageable);
+            // Prefix match from the in-memory index, then load just this page of users by id
+            Page<Long> ids = usernameIndex.searchIds(search, pageable);
+            java.util.Map<Long, User> byId = new java.util.HashMap<>();
+            userRepository.findAllById(ids.getContent()).forEach(u -> byId.put(u.getId(), u));
+            java.util.List<User> users = ids.getContent().stream().map(byId::get).filter(java.util.Objects::nonNull).toList();
+            return new org.springframework.data.domain.PageImpl<>(users, pageable, ids.getTotalElements());
         }
         return userRepository.findAll(pageable); 
     }
 
-    public Page<Post> listPostsByAuthor(Long authorId, Pageable pageable) {
-        User author = userRepository.findById(authorId).orElseThrow(() -> new NotFoundException("Author not found"));
-        return postRepository.findByAuthorAndHiddenFalseOrderByCreatedAtDesc(author, pageable);
+    public java.util.List<com.zerooneblog.blog.dto.response.UserSuggestionDto> suggest(String prefix, int limit) {
+        return usernameIndex.suggest(prefix, limit);
+    }
+
+    public Page<com.zerooneblog.blog.dto.response.PostCardDto> listPostsByAuthor(Long authorId, Pageable pageable) {
+        if (!userRepository.existsById(authorId)) throw new NotFoundException("Author not found");
+        return postRepository.findCardsByAuthorIdAndHiddenFalse(authorId, pageable);
     }
 
     public User updateProfile(User user, UpdateUserRequest req) {
@@ -133,11 +143,13 @@ public class UserService {
             user.setUsername(htmlSanitizer.sanitizePlainText(req.getUsername()));
         }
         if (req.getEmail() != null && !req.getEmail().isBlank()) user.setEmail(req.getEmail());
-        if (req.getPassword() != null && !req.getPassword().isBlank()) user.setPassword(passwordEncoder.encode(req.getPassword()));
+        if (req.getPassword() != null && !req.getPassword().isBlank()) user.setPassword(passwordHashingService.encode(req.getPassword()));
         if (req.getBio() != null) {
             user.setBio(htmlSanitizer.sanitizePlainText(req.getBio()));
         }
         if (req.getAvatar() != null) user.setAvatarUrl(req.getAvatar());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        usernameIndex.put(saved);
+        return saved;
     }
 }
@@ -0,0 +1,108 @@
+package com.zerooneblog.blog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.blog.dto.response.UserSuggestionDto;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * In-memory prefix index of lower-cased usernames, used for typeahead and directory search
+ * instead of a leading-wildcard LIKE scan over the users table.
+ *
+ * Entries live in a skip list keyed by "lowercase-username \0 id", so a prefix lookup is a
+ * range scan that already comes back in alphabetical order. Reads never lock.
+ */
+@Service
+public class UsernameIndex {
+    private static final Logger logger = Logger.getLogger(UsernameIndex.class.getName());
+    private static final char KEY_SEPARATOR = '\u0000';
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final UserRepository userRepository;
+    private final NavigableMap<String, UserSuggestionDto> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    public UsernameIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<UserSuggestionDto> all = userRepository.findAllSuggestions();
+        all.forEach(this::put);
+        logger.info("[UsernameIndex] load() - Indexed " + all.size() + " usernames");
+    }
+
+    public void put(User user) {
+        if (user == null || user.getId() == null || user.getUsername() == null) return;
+        String avatar = user.getAvatarUrl() == null || user.getAvatarUrl().isBlank() ? null : user.getAvatarUrl();
+        put(new UserSuggestionDto(user.getId(), user.getUsername(), avatar));
+    }
+
+    private synchronized void put(UserSuggestionDto entry) {
+        String key = entry.getUsername().toLowerCase(Locale.ROOT) + KEY_SEPARATOR + entry.getId();
+        String previous = keysById.put(entry.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        entries.put(key, entry);
+    }
+
+    public synchronized void remove(Long userId) {
+        String key = keysById.remove(userId);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * First {@code limit} users whose username starts with {@code prefix} (case-insensitive), alphabetically.
+     */
+    public List<UserSuggestionDto> suggest(String prefix, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        List<UserSuggestionDto> result = new ArrayList<>(max);
+        for (UserSuggestionDto e : range(prefix).values()) {
+            result.add(e);
+            if (result.size() == max) break;
+        }
+        return result;
+    }
+
+    /**
+     * Page of user ids whose username starts with {@code prefix}, in alphabetical order.
+     */
+    public Page<Long> searchIds(String prefix, Pageable pageable) {
+        NavigableMap<String, UserSuggestionDto> range = range(prefix);
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        long total = 0;
+        for (UserSuggestionDto e : range.values()) {
+            if (total >= pageable.getOffset() && ids.size() < pageable.getPageSize()) {
+                ids.add(e.getId());
+            }
+            total++;
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    private NavigableMap<String, UserSuggestionDto> range(String prefix) {
+        String from = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (from.isEmpty()) return entries;
+        // Every key with this prefix sorts before prefix + U+FFFF
+        return entries.subMap(from, true, from + Character.MAX_VALUE, false);
+    }
+}
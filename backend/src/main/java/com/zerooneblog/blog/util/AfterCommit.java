@@ -0,0 +1,25 @@
+package com.zerooneblog.blog.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers an in-memory side effect until the surrounding transaction commits, so caches and
+ * counters never reflect a write that was rolled back. Runs immediately when no transaction is active.
+ */
+public final class AfterCommit {
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -55,7 +55,27 @@ public class HtmlSanitizer {
         }
         return RICH_TEXT_POLICY.sanitize(input);
     }
-    
+
+    /**
+     * Render sanitized rich text as plain text - tags become word breaks and whitespace is collapsed.
+     * Use for: search indexing and previews of post descriptions
+     */
+    public String toPlainText(String html) {
+        if (html == null) {
+            return null;
+        }
+        // Replace tags with spaces first so adjacent paragraphs don't merge into one word
+        String spaced = html.replaceAll("<[^>]*>", " ");
+        return sanitizePlainText(spaced)
+                .replace("&nbsp;", " ")
+                .replace("&#43;", "+")
+                .replace("&#61;", "=")
+                .replace("&#64;", "@")
+                .replace("&#96;", "`")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
     /**
      * Check if text contains potentially dangerous content
      */
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,31 +22,35 @@ public class JwtUtil {
 
     // NOTE: use a sufficiently long secret in production and keep it out of source control
     private static final String SECRET_KEY = "change-this-to-a-very-long-secret-key-with-at-least-64-bytes-length-1234567890";
-    private static final long EXPIRATION_TIME = 86400000L; // 1 day
 
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    // Access tokens are trusted without a database lookup, so they are kept short-lived;
+    // clients renew them through /api/v1/auth/refresh
+    private final long accessTtlSeconds;
+
+    public JwtUtil(@Value("${blog.jwt.access-ttl-seconds:300}") long accessTtlSeconds) {
+        this.accessTtlSeconds = accessTtlSeconds;
+    }
+
+    public long getAccessTtlSeconds() {
+        return accessTtlSeconds;
+    }
 
     /**
-     * Generate JWT token with user email, role, and token version
+     * Generate JWT token with user id, email, role, and token version
      */
-    public String generateToken(String email, String role, Long tokenVersion) {
+    public String generateToken(Long userId, String email, String role, Long tokenVersion) {
         return Jwts.builder()
                 .setSubject(email)
+                .claim("uid", userId)
                 .claim("role", role)
                 .claim("tokenVersion", tokenVersion != null ? tokenVersion : 0L)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .setExpiration(new Date(System.currentTimeMillis() + accessTtlSeconds * 1000))
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    /**
-     * Generate JWT token (backward compatible - uses tokenVersion 0)
-     */
-    public String generateToken(String email, String role) {
-        return generateToken(email, role, 0L);
-    }
-
     public boolean isValidToken(String token) {
         try {
             Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
@@ -65,19 +70,31 @@ public class JwtUtil {
 
     public Long getTokenVersion(String token) {
         try {
-            Claims claims = getClaims(token);
-            Object version = claims.get("tokenVersion");
-            if (version instanceof Number) {
-                return ((Number) version).longValue();
-            }
-            return 0L;
+            return getTokenVersion(getClaims(token));
         } catch (Exception e) {
             return 0L;
         }
     }
 
+    public Long getTokenVersion(Claims claims) {
+        Object version = claims.get("tokenVersion");
+        if (version instanceof Number) {
+            return ((Number) version).longValue();
+        }
+        return 0L;
+    }
+
+    /** The user id claim, or null for tokens issued before it was added. */
+    public Long getUserId(Claims claims) {
+        Object uid = claims.get("uid");
+        return uid instanceof Number ? ((Number) uid).longValue() : null;
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return getAuthentication(getClaims(token));
+    }
+
+    public Authentication getAuthentication(Claims claims) {
         String email = claims.getSubject();
         String role = claims.get("role", String.class);
         
@@ -0,0 +1,102 @@
+package com.zerooneblog.blog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.zerooneblog.blog.model.Notification;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.NotificationRetentionService;
+import com.zerooneblog.blog.service.NotificationService;
+
+/**
+ * Converts a populated {@code notifications} table on a real PostgreSQL server and checks that the
+ * application keeps working on the partitioned table. The manager is built by hand so the rows
+ * exist before the conversion; the application itself starts with partitioning off.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Testcontainers(disabledWithoutDocker = true)
+public class NotificationPartitionManagerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
+    @Test
+    void convertsAPopulatedTableAndKeepsItUsable() {
+        User receiver = new User();
+        receiver.setUsername("part_receiver");
+        receiver.setEmail("part_receiver@e.com");
+        receiver.setPassword("x");
+        receiver = userRepository.save(receiver);
+
+        Notification oldRead = notificationService.createNotification(receiver, "new_post", "old", receiver.getId());
+        notificationService.createNotification(receiver, "new_post", "recent", receiver.getId());
+        jdbcTemplate.update("update notifications set is_read = true, created_at = ? where id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(200))), oldRead.getId());
+
+        NotificationPartitionManager manager = new NotificationPartitionManager(jdbcTemplate, transactionManager, true, 365);
+        manager.run(null);
+
+        assertThat(jdbcTemplate.queryForObject("select relkind::text from pg_class where relname = 'notifications'", String.class)).isEqualTo("p");
+        assertThat(partitions()).contains("notifications_legacy", partitionName(YearMonth.now(ZoneOffset.UTC).plusMonths(1)));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from notifications where receiver_id = ?", Long.class, receiver.getId()))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pg_constraint where conrelid = 'notifications'::regclass and contype = 'f'",
+                Long.class)).isPositive();
+
+        // Hibernate inserts keep their ids from notifications_seq
+        Notification fresh = notificationService.createNotification(receiver, "new_post", "after", receiver.getId());
+        assertThat(fresh.getId()).isGreaterThan(oldRead.getId());
+        assertThat(notificationService.countUnread(receiver)).isEqualTo(2);
+
+        assertThat(notificationRetentionService.purgeExpired()).isEqualTo(1);
+
+        // Partitions past the retention are dropped a month at a time
+        jdbcTemplate.execute("create table notifications_p200001 partition of notifications "
+                + "for values from ('2000-01-01 00:00:00+00') to ('2000-02-01 00:00:00+00')");
+        manager.maintain();
+        assertThat(partitions()).doesNotContain("notifications_p200001");
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                + "where i.inhparent = 'notifications'::regclass", String.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "notifications_p" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.zerooneblog.blog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventBus;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.PostSearchService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the application against two H2 databases, one standing in for the replica. The replica gets
+ * the primary's schema but none of its rows, like a replica that has not caught up yet. Tests run
+ * as a web request unless they say otherwise: only requests read from the replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimary",
+        "blog.datasource.replica.url=jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1",
+        "blog.datasource.replica.sticky-seconds=1",
+        "spring.jpa.show-sql=false"})
+public class ReadWriteRoutingDataSourceTest {
+    private static boolean schemaCopied;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void copySchema() {
+        if (schemaCopied) return;
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        List<String> script = new JdbcTemplate(primary).queryForList("script nodata", String.class);
+        for (String statement : script) {
+            if (statement.startsWith("CREATE USER")) continue;
+            replicaJdbc.execute(statement);
+        }
+        schemaCopied = true;
+    }
+
+    @BeforeEach
+    void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(database(true)).isEqualTo("ROUTINGREPLICA");
+        assertThat(database(false)).isEqualTo("ROUTINGPRIMARY");
+        // Outside a transaction
+        assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo("ROUTINGPRIMARY");
+    }
+
+    @Test
+    void readOnlyTransactionsOutsideARequestGoToThePrimary() throws Exception {
+        // Scheduled jobs and event listeners run on threads of their own
+        assertThat(CompletableFuture.supplyAsync(() -> database(true)).get()).isEqualTo("ROUTINGPRIMARY");
+    }
+
+    @Test
+    void eventListenersSeeTheWriteTheyFollowUpOn() throws Exception {
+        User author = new User();
+        author.setUsername("routing_author");
+        author.setEmail("routing_author@e.com");
+        author.setPassword("x");
+        author = userRepository.save(author);
+        Post post = new Post();
+        post.setAuthor(author);
+        post.setTitle("Replicated eventually");
+        post.setDescription("zanzibar");
+        post = postRepository.save(post);
+        // Not in the second-level cache, so the listener has to query
+        entityManagerFactory.getCache().evictAll();
+
+        // The search index listener re-reads the post and drops it from the index if it is missing
+        eventBus.publish(new DomainEvent.PostEdited(post.getId()));
+        List<Long> hits = List.of();
+        for (int i = 0; i < 50 && hits.isEmpty(); i++) {
+            Thread.sleep(100);
+            hits = postSearchService.search("zanzibar", null, 10).postIds();
+        }
+        assertThat(hits).containsExactly(post.getId());
+    }
+
+    @Test
+    void writerReadsFromPrimaryUntilTheStickyWindowEnds() throws InterruptedException {
+        signIn("writer@e.com");
+        User u = new User();
+        u.setUsername("routing_writer");
+        u.setEmail("routing_writer@e.com");
+        u.setPassword("x");
+        userRepository.save(u);
+
+        // The writer sees their row; the replica does not have it yet. A query, not findById: the
+        // saved user is in the second-level cache
+        assertThat(readOnly(() -> userRepository.findByUsername("routing_writer"))).isPresent();
+        signIn("reader@e.com");
+        assertThat(readOnly(() -> userRepository.findByUsername("routing_writer"))).isEmpty();
+
+        signIn("writer@e.com");
+        Thread.sleep(1_100);
+        assertThat(readOnly(() -> userRepository.findByUsername("routing_writer"))).isEmpty();
+
+        // Read-write transactions always see the primary
+        Optional<User> fromPrimary = new TransactionTemplate(transactionManager).execute(s -> userRepository.findByUsername("routing_writer"));
+        assertThat(fromPrimary).isPresent();
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        return tx.execute(s -> work.get());
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(s -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+
+    private static void signIn(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,87 @@
+package com.zerooneblog.blog.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.zerooneblog.blog.dto.response.PostCardDto;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.PostSearchService;
+import com.zerooneblog.blog.service.TrendingService;
+
+/**
+ * Banning an author takes their posts out of search and trending after the ban commits; lifting
+ * the ban puts them back in search.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:bannedauthor", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+public class BannedAuthorEventListenerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Test
+    void banRemovesTheAuthorsPostsAndUnbanRestoresSearch() throws Exception {
+        User author = new User();
+        author.setUsername("ban_author");
+        author.setEmail("ban_author@e.com");
+        author.setPassword("x");
+        author = userRepository.save(author);
+        Post post = new Post();
+        post.setAuthor(author);
+        post.setTitle("Soon gone");
+        post.setDescription("quetzalcoatl");
+        post = postRepository.save(post);
+        postSearchService.index(post);
+        trendingService.likeAdded(post.getId(), Instant.now());
+        assertThat(trendingService.trending(10)).extracting(PostCardDto::getId).contains(post.getId());
+
+        mockMvc.perform(put("/api/v1/admin/users/" + author.getId() + "/ban").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        assertThat(awaitHits(true)).isEmpty();
+
+        mockMvc.perform(put("/api/v1/admin/users/" + author.getId() + "/unban").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        assertThat(awaitHits(false)).containsExactly(post.getId());
+        // The ranking entry went with the ban, not just the query-time filter
+        assertThat(trendingService.trending(10)).extracting(PostCardDto::getId).doesNotContain(post.getId());
+    }
+
+    private List<Long> awaitHits(boolean empty) throws InterruptedException {
+        List<Long> hits = search();
+        for (int i = 0; i < 50 && hits.isEmpty() != empty; i++) {
+            Thread.sleep(100);
+            hits = search();
+        }
+        return hits;
+    }
+
+    private List<Long> search() {
+        return postSearchService.search("quetzalcoatl", null, 10).postIds();
+    }
+}
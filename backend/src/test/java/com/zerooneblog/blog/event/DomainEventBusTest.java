@@ -0,0 +1,112 @@
+package com.zerooneblog.blog.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.NotificationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fills a listener's queue so the caller-runs policy handles events on the publishing thread, in
+ * the after-commit callback of the publisher's transaction, and checks the listener's writes are
+ * still committed there.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:eventbus", "spring.jpa.show-sql=false"})
+public class DomainEventBusTest {
+    private static final String TYPE = "bus_test";
+    private static final CountDownLatch release = new CountDownLatch(1);
+    private static volatile User receiver;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class BlockingListenerConfig {
+        // Blocks its worker on the first event, so with a queue of one the third event runs on the caller
+        @Bean
+        DomainEventListener blockingListener(NotificationService notificationService) {
+            return new DomainEventListener() {
+                private boolean first = true;
+
+                @Override
+                public String name() {
+                    return "bus-test";
+                }
+
+                @Override
+                public boolean accepts(DomainEvent event) {
+                    return event instanceof DomainEvent.PostEdited e && e.postId() < 0;
+                }
+
+                @Override
+                public void onEvent(DomainEvent event) {
+                    if (Thread.currentThread().getName().startsWith("events-") && first) {
+                        first = false;
+                        try {
+                            release.await(30, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    long postId = ((DomainEvent.PostEdited) event).postId();
+                    notificationService.notifyCoalesced(receiver, TYPE, postId, receiver);
+                }
+
+                @Override
+                public int queueCapacity() {
+                    return 1;
+                }
+            };
+        }
+    }
+
+    @Test
+    void callerRunsHandlerWritesAreCommitted() throws InterruptedException {
+        User u = new User();
+        u.setUsername("bus_receiver");
+        u.setEmail("bus_receiver@e.com");
+        u.setPassword("x");
+        receiver = userRepository.save(u);
+
+        try {
+            eventBus.publish(new DomainEvent.PostEdited(-1));
+            Thread.sleep(200); // let the worker take the first event and block on it
+            new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+                eventBus.publish(new DomainEvent.PostEdited(-2));
+                eventBus.publish(new DomainEvent.PostEdited(-3));
+            });
+
+            assertThat(meterRegistry.counter("blog.events.caller.runs", "listener", "bus-test").count()).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("select count(*) from notifications where type = ? and target_id = -3", Long.class, TYPE))
+                    .isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.zerooneblog.blog.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.zerooneblog.blog.dto.response.CommentDto;
+import com.zerooneblog.blog.dto.response.NotificationDto;
+import com.zerooneblog.blog.dto.response.PostCardDto;
+import com.zerooneblog.blog.dto.response.PostDto;
+import com.zerooneblog.blog.dto.response.ReportDto;
+import com.zerooneblog.blog.model.Comment;
+import com.zerooneblog.blog.model.Notification;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.Report;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.CommentRepository;
+import com.zerooneblog.blog.repository.NotificationRepository;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.ReportRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+import com.zerooneblog.blog.service.PostService;
+
+/**
+ * Maps each list use case to DTOs after the query's session has closed. Any association the
+ * mapper reads that the query did not fetch is an uninitialized proxy by then, and touching it
+ * throws LazyInitializationException instead of silently running one SELECT per row.
+ * Not transactional on purpose: every repository call runs and closes its own session.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+public class EntityMapperFetchPlanTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PostService postService;
+
+    private User author;
+    private User reader;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        String run = Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+        author = userRepository.save(user("fa" + run));
+        reader = userRepository.save(user("fr" + run));
+
+        post = new Post();
+        post.setAuthor(author);
+        post.setTitle("Fetch plan " + run);
+        post.setDescription("<p>Body</p>");
+        post = postService.create(post);
+
+        Comment comment = new Comment();
+        comment.setUser(reader);
+        comment.setPost(post);
+        comment.setText("Nice");
+        commentRepository.save(comment);
+
+        Report report = new Report();
+        report.setReporter(reader);
+        report.setTargetUser(author);
+        report.setTargetPost(post);
+        report.setReason("spam");
+        reportRepository.save(report);
+
+        Notification n = new Notification();
+        n.setReceiver(author);
+        n.setActorId(reader.getId());
+        n.setType("new_comment");
+        n.setContent("@" + reader.getUsername() + " commented on your post");
+        notificationRepository.save(n);
+    }
+
+    @Test
+    void postListsFetchTheAuthor() {
+        PageRequest page = PageRequest.of(0, 20);
+        assertMapped(postRepository.findAllByHiddenFalseOrderByCreatedAtDesc(page).getContent());
+        assertMapped(postRepository.findByAuthorIdInAndHiddenFalseOrderByCreatedAtDesc(List.of(author.getId()), page).getContent());
+        assertMapped(postRepository.findByAuthorAndHiddenFalseOrderByCreatedAtDesc(author, page).getContent());
+        assertMapped(postRepository.findByAuthorAndHiddenFalse(author, page).getContent());
+        assertMapped(postRepository.findAllById(List.of(post.getId())));
+        assertMapped(postRepository.findAll(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent());
+    }
+
+    @Test
+    void postCardsCarryAnExcerptAndTheCounts() {
+        PageRequest page = PageRequest.of(0, 20);
+        for (List<PostCardDto> cards : List.of(
+                postRepository.findCardsByHiddenFalse(page).getContent(),
+                postRepository.findCardsByAuthorIdInAndHiddenFalse(List.of(author.getId()), page).getContent(),
+                postRepository.findCardsByAuthorIdAndHiddenFalse(author.getId(), page).getContent(),
+                postRepository.findAllCards(page).getContent(),
+                postRepository.findVisibleCardsByIdIn(List.of(post.getId())))) {
+            List<PostDto> dtos = cards.stream().map(c -> EntityMapper.toDto(c, reader)).toList();
+            assertThat(dtos).anySatisfy(d -> {
+                assertThat(d.getId()).isEqualTo(post.getId());
+                assertThat(d.getAuthorUsername()).isEqualTo(author.getUsername());
+                assertThat(d.getDescription()).isNull();
+                assertThat(d.getExcerpt()).isEqualTo("Body");
+                assertThat(d.getWordCount()).isEqualTo(1);
+                assertThat(d.getReadingTimeMinutes()).isEqualTo(1);
+                assertThat(d.getCommentsCount()).isEqualTo(1);
+                assertThat(d.isLiked()).isFalse();
+            });
+        }
+
+        Post longPost = new Post();
+        longPost.setAuthor(author);
+        longPost.setTitle("Long");
+        longPost.setDescription("<p>" + "word ".repeat(200) + "</p>");
+        longPost = postService.create(longPost);
+        Long longId = longPost.getId();
+        PostDto clipped = postRepository.findCardsByAuthorIdAndHiddenFalse(author.getId(), page).stream()
+                .filter(c -> c.getId().equals(longId)).map(EntityMapper::toDto).findFirst().orElseThrow();
+        assertThat(clipped.getExcerpt()).hasSize(PostService.EXCERPT_LENGTH).endsWith("word…");
+        assertThat(clipped.getWordCount()).isEqualTo(200);
+    }
+
+    @Test
+    void commentListFetchesTheCommenter() {
+        List<CommentDto> dtos = commentRepository.findByPostOrderByCreatedAtDesc(post, PageRequest.of(0, 20))
+                .map(EntityMapper::toDto).getContent();
+        assertThat(dtos).singleElement().satisfies(d -> {
+            assertThat(d.getUsername()).isEqualTo(reader.getUsername());
+            assertThat(d.getPostId()).isEqualTo(post.getId());
+        });
+    }
+
+    @Test
+    void reportListsFetchReporterAndTargets() {
+        PageRequest page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        List<ReportDto> pending = reportRepository.findByStatus("PENDING", page).map(EntityMapper::toDto).getContent();
+        List<ReportDto> all = reportRepository.findAll(page).map(EntityMapper::toDto).getContent();
+        for (List<ReportDto> dtos : List.of(pending, all)) {
+            assertThat(dtos).anySatisfy(d -> {
+                assertThat(d.getReporter().getUsername()).isEqualTo(reader.getUsername());
+                assertThat(d.getReportedUser().getUsername()).isEqualTo(author.getUsername());
+                assertThat(d.getReportedPost().getAuthorUsername()).isEqualTo(author.getUsername());
+            });
+        }
+    }
+
+    @Test
+    void notificationListNeedsOnlyTheReceiverId() {
+        List<NotificationDto> dtos = notificationRepository.findByReceiverOrderByCreatedAtDesc(author, PageRequest.of(0, 20))
+                .map(EntityMapper::toDto).getContent();
+        assertThat(dtos).singleElement().satisfies(d -> assertThat(d.getReceiverId()).isEqualTo(author.getId()));
+    }
+
+    private void assertMapped(List<Post> posts) {
+        List<PostDto> dtos = posts.stream().map(p -> EntityMapper.toDto(p, reader)).toList();
+        assertThat(dtos).anySatisfy(d -> {
+            assertThat(d.getId()).isEqualTo(post.getId());
+            assertThat(d.getAuthorUsername()).isEqualTo(author.getUsername());
+        });
+    }
+
+    private static User user(String name) {
+        User u = new User();
+        u.setUsername(name);
+        u.setEmail(name + "@e.com");
+        u.setPassword("x");
+        return u;
+    }
+}
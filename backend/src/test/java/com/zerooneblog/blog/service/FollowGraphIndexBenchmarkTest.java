@@ -0,0 +1,90 @@
+package com.zerooneblog.blog.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Correctness checks for the follow graph index, plus a memory/latency benchmark.
+ * The benchmark only runs when asked for: {@code mvn test -Dtest=FollowGraphIndexBenchmarkTest -Dbenchmark=true}
+ */
+public class FollowGraphIndexBenchmarkTest {
+
+    @Test
+    void tracksBothDirections() {
+        FollowGraphIndex index = new FollowGraphIndex(null);
+        index.addEdge(2, 1);
+        index.addEdge(3, 1);
+        index.addEdge(2, 4);
+        index.addEdge(2, 1); // duplicate is ignored
+
+        assertTrue(index.isFollowing(1, 2));
+        assertFalse(index.isFollowing(2, 1));
+        assertEquals(2, index.followerCount(2));
+        assertEquals(2, index.followingCount(1));
+        assertArrayEquals(new long[]{2, 3}, index.followingOf(1));
+        assertArrayEquals(new long[]{1, 4}, index.followersOf(2));
+
+        index.removeEdge(2, 1);
+        assertFalse(index.isFollowing(1, 2));
+        assertArrayEquals(new long[]{4}, index.followersOf(2));
+
+        index.removeUser(3);
+        assertArrayEquals(new long[0], index.followingOf(1));
+        assertEquals(0, index.followerCount(3));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void memoryPerMillionEdges() {
+        int users = 200_000;
+        int edges = 1_000_000;
+        SplittableRandom random = new SplittableRandom(42);
+
+        long before = usedHeap();
+        FollowGraphIndex.LongSetTable following = new FollowGraphIndex.LongSetTable();
+        FollowGraphIndex.LongSetTable followers = new FollowGraphIndex.LongSetTable();
+        for (int i = 0; i < edges; i++) {
+            long subscriber = 1 + random.nextInt(users);
+            // Skewed towards low ids so a few accounts get very large follower sets
+            long followed = 1 + (long) (users * Math.pow(random.nextDouble(), 3));
+            following.append(subscriber, followed);
+            followers.append(followed, subscriber);
+        }
+        following.sortAll();
+        followers.sortAll();
+        long bytes = usedHeap() - before;
+
+        long start = System.nanoTime();
+        int hits = 0;
+        int lookups = 5_000_000;
+        for (int i = 0; i < lookups; i++) {
+            if (following.contains(1 + random.nextInt(users), 1 + random.nextInt(1000))) hits++;
+        }
+        long nanosPerLookup = (System.nanoTime() - start) / lookups;
+
+        System.out.printf("[FollowGraphIndexBenchmark] %d edges, %d users: %.1f MB (%.1f bytes/edge), %d ns/isFollowing (%d hits)%n",
+                edges, users, bytes / 1024.0 / 1024.0, (double) bytes / edges, nanosPerLookup, hits);
+        assertTrue(bytes / edges < 48, "expected under 48 bytes per edge, got " + bytes / edges);
+        assertTrue(following.size(1) >= 0 && followers.size(1) > 0);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,182 @@
+package com.zerooneblog.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zerooneblog.blog.event.DomainEvent;
+import com.zerooneblog.blog.event.DomainEventListener;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * Hammers like toggling from many threads at once and checks that no (post, user) pair ever ends
+ * up with more than one like row, and that every like is reported as added exactly once: each
+ * reported add publishes one {@code Liked}, each removal one {@code Unliked}, and the two balance
+ * out to the rows left in the table.
+ * Not transactional on purpose: each toggle has to commit on its own, as in production.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+public class LikeServiceStressTest {
+    private static final int THREADS = 16;
+    private static final AtomicInteger likedEvents = new AtomicInteger();
+    private static final AtomicInteger unlikedEvents = new AtomicInteger();
+    private static volatile long countedUserId = -1;
+
+    @TestConfiguration
+    static class LikeEventCounterConfig {
+        // Counts the like events published for the user under test
+        @Bean
+        DomainEventListener likeEventCounter() {
+            return new DomainEventListener() {
+                @Override
+                public String name() {
+                    return "like-event-counter";
+                }
+
+                @Override
+                public boolean accepts(DomainEvent event) {
+                    return event instanceof DomainEvent.Liked || event instanceof DomainEvent.Unliked;
+                }
+
+                @Override
+                public void onEvent(DomainEvent event) {
+                    if (event instanceof DomainEvent.Liked e && e.userId() == countedUserId) likedEvents.incrementAndGet();
+                    if (event instanceof DomainEvent.Unliked e && e.userId() == countedUserId) unlikedEvents.incrementAndGet();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        String run = Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+        for (int i = 0; i < THREADS; i++) {
+            User u = new User();
+            u.setUsername("lk" + i + "_" + run);
+            u.setEmail("lk" + i + "_" + run + "@e.com");
+            u.setPassword("x");
+            users.add(userRepository.save(u));
+        }
+        Post p = new Post();
+        p.setAuthor(users.get(0));
+        p.setTitle("Stress");
+        p.setDescription("Body");
+        post = postRepository.save(p);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from post_likes where post_id = ?", post.getId());
+        postRepository.deleteById(post.getId());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void doubleClicksFromManyUsersLikeExactlyOnce() throws Exception {
+        // Every user "double-clicks": two toggles racing each other, all users at once
+        List<Callable<Boolean>> calls = new ArrayList<>();
+        for (User u : users) {
+            calls.add(() -> likeService.toggleLike(post.getId(), u));
+            calls.add(() -> likeService.toggleLike(post.getId(), u));
+        }
+        List<Boolean> results = runConcurrently(calls);
+
+        for (int i = 0; i < users.size(); i++) {
+            // Of each user's two toggles exactly one added the like
+            assertThat(results.get(2 * i) ^ results.get(2 * i + 1)).as("user %d", i).isTrue();
+            assertThat(likeRows(users.get(i))).isLessThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    void hammeringOneUserNeverDuplicatesTheLike() throws Exception {
+        User u = users.get(1);
+        countedUserId = u.getId();
+        List<Callable<Boolean>> calls = new ArrayList<>();
+        for (int i = 0; i < THREADS * 25; i++) {
+            calls.add(() -> likeService.toggleLike(post.getId(), u));
+        }
+        List<Boolean> results = runConcurrently(calls);
+
+        long liked = results.stream().filter(Boolean::booleanValue).count();
+        assertThat(liked).isPositive();
+        assertThat(likeRows(u)).isLessThanOrEqualTo(1);
+
+        // Every reported add is one Liked, and adds minus removals is what the table holds
+        for (int i = 0; i < 100 && (likedEvents.get() < liked || likedEvents.get() - unlikedEvents.get() != likeRows(u)); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(likedEvents.get()).isEqualTo(liked);
+        assertThat(likedEvents.get() - unlikedEvents.get()).isEqualTo(likeRows(u));
+
+        // Settle on "liked" and make sure it sticks as a single row
+        if (likeRows(u) == 0) likeService.toggleLike(post.getId(), u);
+        assertThat(likeRows(u)).isEqualTo(1);
+        likeService.unlike(post.getId(), u);
+        likeService.unlike(post.getId(), u);
+        assertThat(likeRows(u)).isZero();
+    }
+
+    private int likeRows(User u) {
+        Integer n = jdbcTemplate.queryForObject("select count(*) from post_likes where post_id = ? and user_id = ?",
+                Integer.class, post.getId(), u.getId());
+        return n == null ? 0 : n;
+    }
+
+    private static List<Boolean> runConcurrently(List<Callable<Boolean>> calls) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> call : calls) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> f : futures) {
+                results.add(f.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.zerooneblog.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * A like whose user is deleted before the flush can never be written. It must be dropped without
+ * holding back the other changes of the same flush. Flushes are triggered by hand.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehind",
+        "blog.likes.write-behind=true",
+        "blog.likes.flush-interval-ms=3600000",
+        "spring.jpa.show-sql=false"})
+public class LikeWriteBehindBufferTest {
+
+    @Autowired
+    private LikeWriteBehindBuffer buffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectedChangeIsDroppedAndTheRestAreWritten() {
+        User author = userRepository.save(user("wb_author"));
+        User gone = userRepository.save(user("wb_gone"));
+        Post post = new Post();
+        post.setAuthor(author);
+        post.setTitle("Write-behind");
+        post.setDescription("Body");
+        post = postRepository.save(post);
+        Long postId = post.getId();
+
+        buffer.record(postId, author.getId(), false, true);
+        buffer.record(postId, gone.getId(), false, true);
+        assertThat(buffer.pendingDelta(postId)).isEqualTo(2);
+        jdbcTemplate.update("delete from users where id = ?", gone.getId());
+
+        buffer.flush();
+
+        assertThat(likeRows(postId, author.getId())).isEqualTo(1);
+        assertThat(likeRows(postId, gone.getId())).isZero();
+        assertThat(buffer.knownLiked(postId, gone.getId())).isNull();
+        assertThat(buffer.pendingDelta(postId)).isZero();
+
+        // Later changes to the post are not held back by the dropped one
+        buffer.record(postId, author.getId(), false, false);
+        buffer.flush();
+        assertThat(likeRows(postId, author.getId())).isZero();
+    }
+
+    private int likeRows(Long postId, Long userId) {
+        Integer n = jdbcTemplate.queryForObject("select count(*) from post_likes where post_id = ? and user_id = ?",
+                Integer.class, postId, userId);
+        return n == null ? 0 : n;
+    }
+
+    private static User user(String name) {
+        User u = new User();
+        u.setUsername(name);
+        u.setEmail(name + "@e.com");
+        u.setPassword("x");
+        return u;
+    }
+}
@@ -0,0 +1,98 @@
+package com.zerooneblog.blog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.blog.config.SequenceInitializer;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Sequence-generated ids: existing rows are skipped on startup, and notification inserts are batched.
+ * The benchmark fans a new-post notification out to many receivers, comparing one statement per row
+ * (what identity ids forced) with batches of 50, and only runs when asked for: {@code mvn test -Dtest=NotificationInsertBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:notificationbench", "spring.jpa.show-sql=false"})
+public class NotificationInsertBenchmarkTest {
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    private SequenceInitializer sequenceInitializer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void sequenceSkipsRowsInsertedWithoutIt() {
+        long next = jdbcTemplate.queryForObject("select nextval('notifications_seq')", Long.class);
+        long existing = next + 10_000;
+        jdbcTemplate.update("insert into notifications (id, type, actor_count, is_read, created_at) values (?, 'legacy', 1, false, now())", existing);
+
+        sequenceInitializer.afterSingletonsInstantiated();
+
+        long after = jdbcTemplate.queryForObject("select nextval('notifications_seq')", Long.class);
+        assertTrue(after > existing, "expected the sequence past " + existing + ", got " + after);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void insertTenThousandNotifications() {
+        User receiver = new User();
+        receiver.setUsername("nb_" + Long.toString(System.nanoTime() % 1_000_000_000L, 36));
+        receiver.setEmail(receiver.getUsername() + "@e.com");
+        receiver.setPassword("x");
+        receiver = userRepository.save(receiver);
+
+        // Warm up both paths before measuring
+        insert(receiver, 1_000, 1);
+        insert(receiver, 1_000, 50);
+
+        long rowByRow = insert(receiver, ROWS, 1);
+        long batched = insert(receiver, ROWS, 50);
+
+        System.out.printf("[NotificationInsertBenchmark] %d notifications: one statement per row %d ms (%.0f rows/s), batches of 50 %d ms (%.0f rows/s)%n",
+                ROWS, rowByRow / 1_000_000, ROWS * 1e9 / rowByRow, batched / 1_000_000, ROWS * 1e9 / batched);
+        assertEquals(2 * (ROWS + 1_000), jdbcTemplate.queryForObject("select count(*) from notifications where receiver_id = ?", Long.class, receiver.getId()));
+    }
+
+    /**
+     * Fans one notification out to {@code rows} receivers through {@link NotificationService#createNotifications},
+     * the path new posts take, and returns the elapsed nanoseconds.
+     */
+    private long insert(User receiver, int rows, int batchSize) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        tx.executeWithoutResult(s -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            User ref = entityManager.getReference(User.class, receiver.getId());
+            notificationService.createNotifications(Collections.nCopies(rows, ref), "new_post", "benchmark", receiver.getId());
+        });
+        return System.nanoTime() - start;
+    }
+}
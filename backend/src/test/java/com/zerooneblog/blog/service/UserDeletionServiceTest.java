@@ -0,0 +1,174 @@
+package com.zerooneblog.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.zerooneblog.blog.dto.response.JobStatusDto;
+import com.zerooneblog.blog.model.Post;
+import com.zerooneblog.blog.model.Report;
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.PostRepository;
+import com.zerooneblog.blog.repository.ReportRepository;
+import com.zerooneblog.blog.repository.UserRepository;
+
+/**
+ * Rows that reach a user's posts or the user after the job's chunked steps (a like or comment that
+ * passed the visibility check before the posts were hidden, a notification from an event listener)
+ * are deleted together with the posts and the user, so the job still completes. The job keeps the
+ * dashboard counters in step without a reconcile, and releases follow counts chunk by chunk.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:userdeletion",
+        "blog.deletion.chunk-size=1",
+        "spring.jpa.show-sql=false"})
+public class UserDeletionServiceTest {
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rowsArrivingDuringTheJobDoNotBlockTheDelete() throws InterruptedException {
+        User doomed = userRepository.save(user("del_doomed"));
+        User other = userRepository.save(user("del_other"));
+        Post post = new Post();
+        post.setAuthor(doomed);
+        post.setTitle("Going away");
+        post.setDescription("Body");
+        post = postRepository.save(post);
+        Long postId = post.getId();
+
+        // Just before the posts step, another user's like and comment and a notification for the user land
+        AtomicBoolean hiddenWhenRunning = new AtomicBoolean();
+        AtomicBoolean injected = new AtomicBoolean();
+        doAnswer(inv -> {
+            if (injected.compareAndSet(false, true)) {
+                hiddenWhenRunning.set(jdbcTemplate.queryForObject("select hidden from posts where id = ?", Boolean.class, postId));
+                jdbcTemplate.update("insert into post_likes (id, post_id, user_id, created_at) values (900001, ?, ?, now())", postId, other.getId());
+                jdbcTemplate.update("insert into comments (id, post_id, user_id, text, created_at) values (900001, ?, ?, 'late', now())", postId, other.getId());
+                jdbcTemplate.update("insert into notifications (id, receiver_id, type, actor_count, is_read, created_at) "
+                        + "values (900001, ?, 'new_comment', 1, false, now())", doomed.getId());
+            }
+            // The repository is an interface proxy, so the spy cannot call through to the query
+            Pageable page = inv.getArgument(1);
+            return jdbcTemplate.queryForList("select id from posts where author_id = ? limit ?", Long.class,
+                    doomed.getId(), page.getPageSize());
+        }).when(postRepository).findIdsByAuthorId(eq(doomed.getId()), any(Pageable.class));
+
+        JobStatusDto job = deleteAndWait(doomed);
+
+        assertThat(job.getStatus()).as(String.valueOf(job.getError())).isEqualTo("COMPLETED");
+        assertThat(hiddenWhenRunning).isTrue();
+        assertThat(userRepository.existsById(doomed.getId())).isFalse();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from post_likes where id = 900001", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comments where id = 900001", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from notifications where id = 900001", Long.class)).isZero();
+    }
+
+    @Test
+    void dashboardCountersFollowTheDeletion() throws InterruptedException {
+        User doomed = user("del_counted");
+        doomed.setBanned(true);
+        doomed = userRepository.save(doomed);
+        User reporter = userRepository.save(user("del_reporter"));
+        Post shown = post(doomed, false);
+        post(doomed, true);
+        reportRepository.save(report(reporter, null, shown));
+        reportRepository.save(report(reporter, doomed, null));
+        adminStatsService.reconcile();
+        Map<String, Object> before = adminStatsService.snapshot();
+
+        assertThat(deleteAndWait(doomed).getStatus()).isEqualTo("COMPLETED");
+
+        Map<String, Object> live = adminStatsService.snapshot();
+        assertThat(live.get("totalUsers")).isEqualTo((Long) before.get("totalUsers") - 1);
+        assertThat(live.get("bannedUsers")).isEqualTo((Long) before.get("bannedUsers") - 1);
+        assertThat(live.get("totalPosts")).isEqualTo((Long) before.get("totalPosts") - 2);
+        assertThat(live.get("hiddenPosts")).isEqualTo((Long) before.get("hiddenPosts") - 1);
+        assertThat(live.get("pendingReports")).isEqualTo((Long) before.get("pendingReports") - 2);
+        adminStatsService.reconcile();
+        assertThat(adminStatsService.snapshot()).isEqualTo(live);
+    }
+
+    @Test
+    void followCountsAreReleasedWithTheirSubscriptions() throws InterruptedException {
+        User doomed = userRepository.save(user("del_follows"));
+        User followed = userRepository.save(user("del_followed"));
+        User follower = userRepository.save(user("del_follower"));
+        User bystander = userRepository.save(user("del_bystand"));
+        userService.subscribe(followed.getId(), doomed.getId());
+        userService.subscribe(doomed.getId(), follower.getId());
+        userService.subscribe(followed.getId(), bystander.getId());
+
+        assertThat(deleteAndWait(doomed).getStatus()).isEqualTo("COMPLETED");
+
+        assertThat(userService.getSubscriberCount(followed.getId())).isEqualTo(1);
+        assertThat(userService.getSubscriptionsCount(follower.getId())).isZero();
+        assertThat(userService.getSubscriptionsCount(bystander.getId())).isEqualTo(1);
+    }
+
+    private JobStatusDto deleteAndWait(User u) throws InterruptedException {
+        String jobId = userDeletionService.submit(u.getId(), "admin@e.com");
+        JobStatusDto job = userDeletionService.status(jobId);
+        for (int i = 0; i < 100 && job.getFinishedAt() == null; i++) {
+            Thread.sleep(100);
+            job = userDeletionService.status(jobId);
+        }
+        return job;
+    }
+
+    private Post post(User author, boolean hidden) {
+        Post p = new Post();
+        p.setAuthor(author);
+        p.setTitle("Counted");
+        p.setDescription("Body");
+        p.setHidden(hidden);
+        return postRepository.save(p);
+    }
+
+    private static Report report(User reporter, User targetUser, Post targetPost) {
+        Report r = new Report();
+        r.setReporter(reporter);
+        r.setTargetUser(targetUser);
+        r.setTargetPost(targetPost);
+        r.setReason("spam");
+        return r;
+    }
+
+    private static User user(String name) {
+        User u = new User();
+        u.setUsername(name);
+        u.setEmail(name + "@e.com");
+        u.setPassword("x");
+        return u;
+    }
+}
@@ -0,0 +1,58 @@
+package com.zerooneblog.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.zerooneblog.blog.model.User;
+import com.zerooneblog.blog.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Follows and unfollows keep the subscription counts right and leave other users' entries in the
+ * second-level cache alone.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:userservice", "spring.jpa.show-sql=false"})
+public class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void followCountsDoNotEmptyTheUserCache() {
+        User followed = userRepository.save(user("us_followed"));
+        User follower = userRepository.save(user("us_follower"));
+        User bystander = userRepository.save(user("us_bystander"));
+        userService.findById(bystander.getId());
+        assertThat(entityManagerFactory.getCache().contains(User.class, bystander.getId())).isTrue();
+
+        userService.subscribe(followed.getId(), follower.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, bystander.getId())).isTrue();
+        assertThat(userService.getSubscriberCount(followed.getId())).isEqualTo(1);
+        assertThat(userService.getSubscriptionsCount(follower.getId())).isEqualTo(1);
+
+        userService.unsubscribe(followed.getId(), follower.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, bystander.getId())).isTrue();
+        assertThat(userService.getSubscriberCount(followed.getId())).isZero();
+        assertThat(userService.getSubscriptionsCount(follower.getId())).isZero();
+    }
+
+    private static User user(String name) {
+        User u = new User();
+        u.setUsername(name);
+        u.setEmail(name + "@e.com");
+        u.setPassword("x");
+        return u;
+    }
+}
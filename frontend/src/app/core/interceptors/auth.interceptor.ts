@@ -1,18 +1,35 @@
-import { HttpInterceptorFn } from '@angular/common/http';
+import { HttpErrorResponse, HttpInterceptorFn, HttpRequest } from '@angular/common/http';
 import { inject } from '@angular/core';
+import { Router } from '@angular/router';
+import { catchError, switchMap, throwError } from 'rxjs';
 import { AuthService } from '../services/auth.service';
 
+const withToken = (req: HttpRequest<unknown>, token: string | null) =>
+  token ? req.clone({ setHeaders: { Authorization: `Bearer ${token}` } }) : req;
+
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
-  const token = authService.getToken();
+  const router = inject(Router);
 
-  if (token) {
-    req = req.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`
+  return next(withToken(req, authService.getToken())).pipe(
+    catchError((err: any) => {
+      // Access tokens are short-lived: renew once with the refresh token and replay the request
+      const expired = err instanceof HttpErrorResponse && err.status === 401 && err.error?.code === 'TOKEN_EXPIRED';
+      if (!expired || req.url.includes('/auth/') || !authService.getRefreshToken()) {
+        if (expired) {
+          authService.logout();
+          router.navigate(['/login']);
+        }
+        return throwError(() => err);
       }
-    });
-  }
-
-  return next(req);
+      return authService.refresh().pipe(
+        catchError(refreshErr => {
+          authService.logout();
+          router.navigate(['/login']);
+          return throwError(() => refreshErr);
+        }),
+        switchMap(response => next(withToken(req, response.accessToken)))
+      );
+    })
+  );
 };
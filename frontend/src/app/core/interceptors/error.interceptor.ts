@@ -26,6 +26,11 @@ export const errorInterceptor: HttpInterceptorFn = (req, next) => {
           return throwError(() => err);
         }
 
+        // Expired access token - the auth interceptor refreshes and retries
+        if (status === 401 && code === 'TOKEN_EXPIRED') {
+          return throwError(() => err);
+        }
+
         // Handle invalidated token - force re-login
         if (status === 401 && code === 'TOKEN_INVALIDATED') {
           authService.logout();
@@ -1,4 +1,4 @@
-export type NotificationType = 'new_subscriber' | 'new_post';
+export type NotificationType = 'new_subscriber' | 'new_post' | 'new_comment';
 
 export interface Notification {
   id: string;
@@ -6,6 +6,8 @@ export interface Notification {
   actorId?: string;
   type: NotificationType;
   content: string;
+  actorCount?: number;
+  latestActors?: string[];
   isRead: boolean;
   createdAt: string;
 }
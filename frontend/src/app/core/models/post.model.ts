@@ -6,7 +6,11 @@ export interface Post {
   authorUsername: string;
   authorAvatar?: string;
   title: string;
-  description: string;
+  description?: string;
+  // Set instead of description in list responses; the full post comes from getPost
+  excerpt?: string;
+  wordCount?: number;
+  readingTimeMinutes?: number;
   mediaUrls?: string[];
   likesCount: number;
   commentsCount: number;
@@ -25,6 +25,8 @@ export interface User {
 export interface AuthResponse {
   user: User;
   accessToken: string;
+  refreshToken?: string;
+  expiresIn?: number;
 }
 
 export interface LoginRequest {
@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { BehaviorSubject, Observable, tap } from 'rxjs';
+import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { BehaviorSubject, Observable, catchError, finalize, shareReplay, switchMap, tap, throwError, timer } from 'rxjs';
 import { environment } from '../../../environments/environment';
 import { AuthResponse, LoginRequest, RegisterRequest, User } from '../models/user.model';
 
@@ -10,6 +10,8 @@ import { AuthResponse, LoginRequest, RegisterRequest, User } from '../models/use
 export class AuthService {
   private currentUserSubject = new BehaviorSubject<User | null>(null);
   public currentUser$ = this.currentUserSubject.asObservable();
+  // Single in-flight refresh shared by every request that hit an expired access token
+  private refreshInFlight: Observable<AuthResponse> | null = null;
 
   constructor(private http: HttpClient) {
     this.loadUserFromStorage();
@@ -52,7 +54,42 @@ export class AuthService {
       .pipe(tap(response => this.handleAuth(response)));
   }
 
+  refresh(): Observable<AuthResponse> {
+    if (!this.refreshInFlight) {
+      this.refreshInFlight = this.requestRefresh(0)
+        .pipe(
+          tap(response => this.handleAuth(response)),
+          finalize(() => this.refreshInFlight = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight;
+  }
+
+  // 409 means another tab rotated the shared refresh token a moment ago: retry with the one it stores
+  private requestRefresh(attempt: number): Observable<AuthResponse> {
+    const refreshToken = localStorage.getItem('refreshToken');
+    return this.http.post<AuthResponse>(`${environment.apiUrl}/auth/refresh`, { refreshToken }).pipe(
+      catchError((err: HttpErrorResponse) => {
+        if (err.status !== 409 || attempt >= 5) {
+          return throwError(() => err);
+        }
+        return timer(300).pipe(switchMap(() => this.requestRefresh(attempt + 1)));
+      })
+    );
+  }
+
+  getRefreshToken(): string | null {
+    return localStorage.getItem('refreshToken');
+  }
+
   logout(): void {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      // Revoke the session server-side; the local state is cleared regardless
+      this.http.post(`${environment.apiUrl}/auth/logout`, { refreshToken }).subscribe({ error: () => {} });
+    }
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('accessToken');
     localStorage.removeItem('currentUser');
     this.currentUserSubject.next(null);
@@ -83,6 +120,9 @@ export class AuthService {
     if (token) {
       localStorage.setItem('accessToken', token);
     }
+    if (response.refreshToken) {
+      localStorage.setItem('refreshToken', response.refreshToken);
+    }
 
     if (user) {
       // normalize avatar field coming from backend: support both avatarUrl and avatar
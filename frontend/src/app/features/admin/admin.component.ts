@@ -174,8 +174,9 @@ export class AdminComponent implements OnInit {
 
       this.adminService.deleteUser(userId).subscribe({
         next: () => {
+          // Deletion runs as a background job on the server; the user is banned until it finishes
           this.users = this.users.filter(u => u.id !== userId);
-          this.showMessage('User deleted successfully');
+          this.showMessage('User deletion started');
           this.loadStats();
           this.loadPosts();
         },
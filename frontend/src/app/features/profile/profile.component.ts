@@ -219,6 +219,16 @@ export class ProfileComponent implements OnInit {
   }
 
   onEdit(post: Post): void {
+    // Cards only carry an excerpt, so load the full post for the dialog
+    this.postService.getPost(post.id).subscribe({
+      next: (fullPost) => this.openEditDialog(fullPost),
+      error: () => {
+        this.snackBar.open('Failed to load post', 'Close', { duration: 3000 });
+      }
+    });
+  }
+
+  private openEditDialog(post: Post): void {
     const dialogRef = this.dialog.open(EditPostDialogComponent, {
       width: '600px',
       data: { post }